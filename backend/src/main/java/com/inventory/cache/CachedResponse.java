@@ -0,0 +1,22 @@
+package com.inventory.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the JSON body of a controller method that returns a {@code ResponseEntity}.
+ * See {@link ResponseCacheAspect}. Arguments form part of the cache key, so annotated
+ * methods should take only a few plain values, never the request itself.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+
+    /** How long a response is served as fresh. */
+    long ttlMillis() default 1000;
+
+    /** How long past the TTL the old response is still served while it is recomputed. */
+    long staleMillis() default 5000;
+}
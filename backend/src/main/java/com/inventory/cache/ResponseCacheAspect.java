@@ -0,0 +1,148 @@
+package com.inventory.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stale-while-revalidate cache for {@link CachedResponse} controller methods. Responses
+ * are stored as serialized JSON bytes with a content ETag, so a hit skips the service
+ * layer and Jackson and can answer {@code If-None-Match} with a 304.
+ *
+ * <p>Concurrent misses on the same key wait for a single computation. Once an entry is
+ * past its TTL but still inside its stale window, it keeps being served while one
+ * background refresh recomputes it. Only 2xx responses with a body are stored;
+ * anything else, including exceptions, passes through untouched.
+ */
+@Slf4j
+@Aspect
+@Component
+public class ResponseCacheAspect {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheAspect(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Around("@annotation(cached)")
+    public Object around(ProceedingJoinPoint joinPoint, CachedResponse cached) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null && now < entry.staleUntil) {
+            if (now >= entry.freshUntil && entry.refreshing.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("response-cache-refresh").start(() -> refresh(key, joinPoint, cached, entry));
+            }
+            return respond(entry);
+        }
+
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            Entry loaded;
+            try {
+                loaded = existing.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause();
+            }
+            // The other request's response could not be cached; compute our own.
+            return loaded != null ? respond(loaded) : joinPoint.proceed();
+        }
+        try {
+            Object result = joinPoint.proceed();
+            Entry computed = toEntry(result, cached);
+            loading.complete(computed);
+            if (computed == null) {
+                return result;
+            }
+            entries.put(key, computed);
+            return respond(computed);
+        } catch (Throwable ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, loading);
+        }
+    }
+
+    private void refresh(Key key, ProceedingJoinPoint joinPoint, CachedResponse cached, Entry stale) {
+        try {
+            Entry computed = toEntry(joinPoint.proceed(), cached);
+            if (computed != null) {
+                entries.put(key, computed);
+            }
+        } catch (Throwable ex) {
+            log.warn("Refreshing cached response of {} failed: {}", key.method.getName(), ex.getMessage());
+        } finally {
+            stale.refreshing.set(false);
+        }
+    }
+
+    private Entry toEntry(Object result, CachedResponse cached) throws Exception {
+        if (!(result instanceof ResponseEntity<?> response)
+                || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return null;
+        }
+        byte[] body = objectMapper.writeValueAsBytes(response.getBody());
+        long now = System.currentTimeMillis();
+        return new Entry(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"",
+                now + cached.ttlMillis(), now + cached.ttlMillis() + cached.staleMillis());
+    }
+
+    private static ResponseEntity<byte[]> respond(Entry entry) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String ifNoneMatch = attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && ifNoneMatch.contains(entry.etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entry.etag).build();
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(entry.etag)
+                .body(entry.body);
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private static final class Entry {
+        private final byte[] body;
+        private final String etag;
+        private final long freshUntil;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(byte[] body, String etag, long freshUntil, long staleUntil) {
+            this.body = body;
+            this.etag = etag;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventory.config;
+
+import com.inventory.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+
+/**
+ * Transaction ids used to come from AUTO_INCREMENT. Now that they are allocated from
+ * the pooled {@code transactions_seq} table, move the sequence past any existing rows
+ * so the first allocated block cannot collide with them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SequenceInitializer implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        // Databases with native sequences (and no emulation table) need no adjustment.
+        Boolean emulated = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "transactions_seq", null)) {
+                return tables.next();
+            }
+        });
+        if (!Boolean.TRUE.equals(emulated)) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        long floor = (maxId == null ? 0 : maxId) + Transaction.ID_ALLOCATION_SIZE + 1;
+        jdbcTemplate.update("UPDATE transactions_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+    }
+}
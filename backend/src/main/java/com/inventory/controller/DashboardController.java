@@ -1,11 +1,15 @@
 package com.inventory.controller;
 
+import com.inventory.cache.CachedResponse;
 import com.inventory.dto.*;
 import com.inventory.service.DashboardService;
+import com.inventory.service.LookupCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
@@ -13,9 +17,16 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final LookupCache lookupCache;
 
     @GetMapping("/stats")
+    @CachedResponse(ttlMillis = 1000, staleMillis = 5000)
     public ResponseEntity<ApiResponse<DashboardStats>> getDashboardStats() {
         return ResponseEntity.ok(ApiResponse.success(dashboardService.getStats()));
     }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(lookupCache.getStats()));
+    }
 }
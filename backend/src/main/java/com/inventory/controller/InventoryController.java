@@ -1,13 +1,30 @@
 package com.inventory.controller;
 
+import com.inventory.cache.CachedResponse;
 import com.inventory.dto.*;
+import com.inventory.exception.PreconditionFailedException;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.InventoryBulkUpdateService;
+import com.inventory.service.InventoryImportService;
 import com.inventory.service.InventoryStockService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -16,15 +33,29 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryStockService inventoryService;
+    private final InventoryImportService importService;
+    private final InventoryBulkUpdateService bulkUpdateService;
+    private final CatalogVersion catalogVersion;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> getAllItems() {
-        return ResponseEntity.ok(ApiResponse.success(inventoryService.getAllItems()));
+    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> getItems(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest) {
+        return conditional(webRequest, catalogVersion.etag(), () -> ApiResponse.page(inventoryService.findItems(
+                category, minPrice, maxPrice, inStock, updatedSince, page, size, sort)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<InventoryStockDTO>> getItemById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success(inventoryService.getItemById(id)));
+    public ResponseEntity<ApiResponse<InventoryStockDTO>> getItemById(@PathVariable Long id, WebRequest webRequest) {
+        InventoryStockDTO item = inventoryService.getItemById(id);
+        return conditional(webRequest, itemEtag(item), () -> ApiResponse.success(item));
     }
 
     @PostMapping
@@ -32,9 +63,37 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success("Item created successfully", inventoryService.createItem(request)));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importItems(@RequestParam("file") MultipartFile file,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(required = false) Integer batchSize) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(ApiResponse.success("Import completed", importService.importItems(input, format, batchSize)));
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<InventoryStockDTO>> updateItem(@PathVariable Long id, @Valid @RequestBody CreateInventoryRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Item updated successfully", inventoryService.updateItem(id, request)));
+    public ResponseEntity<ApiResponse<InventoryStockDTO>> updateItem(@PathVariable Long id, @Valid @RequestBody CreateInventoryRequest request,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InventoryStockDTO updated = inventoryService.updateItem(id, request, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(itemEtag(updated)).body(ApiResponse.success("Item updated successfully", updated));
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkUpdateReport>> bulkUpdate(@Valid @RequestBody BulkInventoryUpdateRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Bulk update completed", bulkUpdateService.applyUpdates(request)));
+    }
+
+    @PutMapping("/{id}/slots")
+    public ResponseEntity<ApiResponse<InventoryStockDTO>> setSlotCount(@PathVariable Long id, @RequestParam int count) {
+        InventoryStockDTO updated = inventoryService.setSlotCount(id, count);
+        return ResponseEntity.ok().eTag(itemEtag(updated)).body(ApiResponse.success("Item stock split into " + count + " slots", updated));
+    }
+
+    @DeleteMapping("/{id}/slots")
+    public ResponseEntity<ApiResponse<InventoryStockDTO>> disableSlots(@PathVariable Long id) {
+        InventoryStockDTO updated = inventoryService.disableSlots(id);
+        return ResponseEntity.ok().eTag(itemEtag(updated)).body(ApiResponse.success("Item stock merged back into one row", updated));
     }
 
     @DeleteMapping("/{id}")
@@ -44,16 +103,18 @@ public class InventoryController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> searchItems(@RequestParam String query) {
-        return ResponseEntity.ok(ApiResponse.success(inventoryService.searchItems(query)));
+    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> searchItems(@RequestParam String query,
+                                                                            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.searchItems(query, limit)));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> getItemsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(ApiResponse.success(inventoryService.getItemsByCategory(category)));
+    public ResponseEntity<ApiResponse<List<InventoryItemSummary>>> getItemsByCategory(@PathVariable String category, WebRequest webRequest) {
+        return conditional(webRequest, catalogVersion.etag(), () -> ApiResponse.success(inventoryService.getItemsByCategory(category)));
     }
 
     @GetMapping("/categories")
+    @CachedResponse(ttlMillis = 1000, staleMillis = 5000)
     public ResponseEntity<ApiResponse<List<String>>> getAllCategories() {
         return ResponseEntity.ok(ApiResponse.success(inventoryService.getAllCategories()));
     }
@@ -63,8 +124,62 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(inventoryService.getLowStockItems(threshold)));
     }
 
+    @GetMapping("/forecast")
+    public ResponseEntity<ApiResponse<List<StockForecast>>> getForecast(@RequestParam(defaultValue = "30") int horizonDays) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getForecast(horizonDays)));
+    }
+
+    @GetMapping("/forecast/reorder")
+    public ResponseEntity<ApiResponse<List<StockForecast>>> getReorderList(@RequestParam(defaultValue = "14") int horizonDays,
+                                                                          @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getReorderList(horizonDays, limit)));
+    }
+
+    @GetMapping("/ledger/quantities")
+    public ResponseEntity<ApiResponse<Map<Long, Long>>> getQuantitiesAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+            @RequestParam(required = false) Long itemId) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getQuantitiesAsOf(asOf, itemId)));
+    }
+
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<InventoryStockDTO>>> getAvailableItems() {
+    @CachedResponse(ttlMillis = 1000, staleMillis = 5000)
+    public ResponseEntity<ApiResponse<List<InventoryItemSummary>>> getAvailableItems() {
         return ResponseEntity.ok(ApiResponse.success(inventoryService.getAvailableItems()));
     }
+
+    /**
+     * Answers 304 when the client already holds {@code etag}, without running the query or
+     * serializing a body. The tag is taken before the query, so a racing change only makes it stale.
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest webRequest, String etag,
+                                                                  Supplier<ApiResponse<T>> body) {
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+
+    // Slotted sales and mirror refreshes leave the version alone, so the quantity is part of the tag.
+    private static String itemEtag(InventoryStockDTO item) {
+        return "\"" + item.getVersion() + "-" + item.getQuantity() + "\"";
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong ETag");
+        }
+        String value = tag.replace("\"", "");
+        int quantity = value.indexOf('-');
+        try {
+            // Updates are checked against the version only; sales between read and write do not conflict.
+            return Long.parseLong(quantity < 0 ? value : value.substring(0, quantity));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.inventory.controller;
+
+import com.inventory.dto.*;
+import com.inventory.service.DistinctCustomerTracker;
+import com.inventory.service.InventoryStockService;
+import com.inventory.service.OrderDistributionTracker;
+import com.inventory.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final SalesRollupService salesRollupService;
+    private final InventoryStockService inventoryService;
+    private final DistinctCustomerTracker distinctCustomerTracker;
+    private final OrderDistributionTracker orderDistributionTracker;
+
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<List<SalesReportRow>>> getSalesReport(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "item") String groupBy) {
+        return ResponseEntity.ok(ApiResponse.success(salesRollupService.getSalesReport(granularity, from, to, groupBy)));
+    }
+
+    @GetMapping("/top-items")
+    public ResponseEntity<ApiResponse<List<TopItem>>> getTopItems(@RequestParam(defaultValue = "10") int n,
+                                                                  @RequestParam(defaultValue = "all") String window) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getTopSellers(n, window)));
+    }
+
+    @GetMapping("/distinct-customers")
+    public ResponseEntity<ApiResponse<DistinctCustomerReport>> getDistinctCustomers(
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(distinctCustomerTracker.report(itemId, category, from, to)));
+    }
+
+    @GetMapping("/order-distribution")
+    public ResponseEntity<ApiResponse<OrderDistribution>> getOrderDistribution(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(orderDistributionTracker.report(category, from, to)));
+    }
+}
@@ -1,13 +1,19 @@
 package com.inventory.controller;
 
 import com.inventory.dto.*;
+import com.inventory.service.IdempotencyService;
+import com.inventory.service.TransactionExportService;
 import com.inventory.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,10 +23,28 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService exportService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getAllTransactions() {
-        return ResponseEntity.ok(ApiResponse.success(transactionService.getAllTransactions()));
+    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.page(transactionService.getAllTransactions(cursor, size)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.parse(format);
+        StreamingResponseBody body = out -> exportService.export(exportFormat, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -29,18 +53,38 @@ public class TransactionController {
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<TransactionDTO>> createTransaction(@Valid @RequestBody CreateTransactionRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Transaction created successfully", transactionService.createTransaction(request)));
+    public ResponseEntity<ApiResponse<TransactionDTO>> createTransaction(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateTransactionRequest request) {
+        TransactionDTO transaction = idempotencyService.execute(idempotencyKey, request,
+                () -> transactionService.createTransaction(request, idempotencyKey));
+        return ResponseEntity.ok(ApiResponse.success("Transaction created successfully", transaction));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TransactionDTO>>> createTransactions(@Valid @RequestBody CreateBatchTransactionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Checkout completed successfully", transactionService.createTransactions(request)));
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getTransactionsByCustomer(@PathVariable Long customerId) {
-        return ResponseEntity.ok(ApiResponse.success(transactionService.getTransactionsByCustomer(customerId)));
+    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getTransactionsByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.page(transactionService.getTransactionsByCustomer(customerId, cursor, size)));
+    }
+
+    @GetMapping("/customer/{customerId}/summary")
+    public ResponseEntity<ApiResponse<CustomerSpendSummary>> getCustomerSummary(@PathVariable Long customerId) {
+        return ResponseEntity.ok(ApiResponse.success(transactionService.getCustomerSummary(customerId)));
     }
 
     @GetMapping("/item/{itemId}")
-    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getTransactionsByItem(@PathVariable Long itemId) {
-        return ResponseEntity.ok(ApiResponse.success(transactionService.getTransactionsByItem(itemId)));
+    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getTransactionsByItem(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.page(transactionService.getTransactionsByItem(itemId, cursor, size)));
     }
 
     @GetMapping("/revenue")
@@ -1,10 +1,13 @@
 package com.inventory.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -16,6 +19,15 @@ public class ApiResponse<T> {
     private T data;
     private LocalDateTime timestamp;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
@@ -34,6 +46,27 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .message("Operation successful")
+                .data(page.getItems())
+                .timestamp(LocalDateTime.now())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public static <T> ApiResponse<List<T>> page(Page<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .message("Operation successful")
+                .data(page.getContent())
+                .timestamp(LocalDateTime.now())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
@@ -0,0 +1,18 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInventoryUpdateRequest {
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 5000, message = "A bulk update cannot contain more than 5000 items")
+    private List<@Valid InventoryPatchRequest> updates;
+}
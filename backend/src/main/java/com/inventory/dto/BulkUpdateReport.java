@@ -0,0 +1,29 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateReport {
+    private int updated;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+
+    public enum Status {
+        UPDATED, NOT_FOUND, VERSION_CONFLICT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long id;
+        private Status status;
+        private Long version;
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBatchTransactionRequest {
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 500, message = "A checkout cannot contain more than 500 lines")
+    private List<@Valid TransactionLineRequest> lines;
+}
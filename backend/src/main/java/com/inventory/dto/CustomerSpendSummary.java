@@ -0,0 +1,15 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSpendSummary {
+    private Long orderCount;
+    private BigDecimal totalSpent;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctCustomerReport {
+    /** ITEM, CATEGORY or STORE. */
+    private String scope;
+    private String key;
+    private LocalDate from;
+    private LocalDate to;
+    private Long estimatedCustomers;
+    /** One standard error as a fraction of the estimate; about 95% of estimates fall within twice this. */
+    private Double relativeStandardError;
+}
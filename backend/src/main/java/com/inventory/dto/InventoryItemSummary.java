@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Listing view of an item without the TEXT description; built directly by JPQL constructor expressions. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryItemSummary {
+    private Long id;
+    private String itemName;
+    private Integer quantity;
+    private String category;
+    private BigDecimal price;
+    private LocalDateTime updatedDate;
+}
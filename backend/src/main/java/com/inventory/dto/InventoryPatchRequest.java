@@ -0,0 +1,26 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryPatchRequest {
+    @NotNull(message = "Item ID is required")
+    private Long id;
+
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private Integer quantity;
+
+    @DecimalMin(value = "0.0", message = "Price cannot be negative")
+    private BigDecimal price;
+
+    /** When set, the row is only changed if it is still at this version. */
+    private Long expectedVersion;
+}
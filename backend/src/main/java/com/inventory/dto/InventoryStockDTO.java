@@ -20,6 +20,8 @@ public class InventoryStockDTO {
     private BigDecimal price;
     private String description;
     private LocalDateTime updatedDate;
+    private Long version;
+    private Integer slotCount;
 
     public static InventoryStockDTO fromEntity(InventoryStock stock) {
         return InventoryStockDTO.builder()
@@ -30,6 +32,8 @@ public class InventoryStockDTO {
                 .price(stock.getPrice())
                 .description(stock.getDescription())
                 .updatedDate(stock.getUpdatedDate())
+                .version(stock.getVersion())
+                .slotCount(stock.getSlotCount())
                 .build();
     }
 }
@@ -0,0 +1,50 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDistribution {
+    /** Null when the figures cover every category. */
+    private String category;
+    private LocalDate from;
+    private LocalDate to;
+    private Long orders;
+    /** Upper bound on the relative error of every reported value. */
+    private Double relativeError;
+    private Summary orderValue;
+    private Summary quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Summary {
+        private BigDecimal min;
+        private BigDecimal max;
+        private BigDecimal mean;
+        private BigDecimal p50;
+        private BigDecimal p90;
+        private BigDecimal p95;
+        private BigDecimal p99;
+        private List<Bin> bins;
+    }
+
+    /** Orders whose value falls in {@code [from, to)}. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bin {
+        private BigDecimal from;
+        private BigDecimal to;
+        private Long count;
+    }
+}
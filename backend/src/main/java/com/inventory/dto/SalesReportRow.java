@@ -0,0 +1,24 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRow {
+    private LocalDateTime bucketStart;
+    private Long itemId;
+    private String itemName;
+    private String category;
+    private Long units;
+    private BigDecimal revenue;
+    private Long transactionCount;
+
+    public SalesReportRow(LocalDateTime bucketStart, String category, Long units, BigDecimal revenue, Long transactionCount) {
+        this(bucketStart, null, null, category, units, revenue, transactionCount);
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockForecast {
+    private Long itemId;
+    private Integer quantity;
+    /** Exponentially weighted units sold per day. */
+    private Double dailyDemand;
+    /** Null when the item has no recent demand. */
+    private Double daysUntilStockOut;
+    private Integer projectedDemand;
+    /** Units needed to cover the projected demand over the horizon. */
+    private Integer reorderQuantity;
+}
@@ -0,0 +1,17 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopItem {
+    private Long itemId;
+    private String itemName;
+    private String category;
+    /** Estimated units sold in the window; may overstate the truth by up to maxOverestimate. */
+    private Long unitsSold;
+    private Long maxOverestimate;
+}
@@ -0,0 +1,50 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Serialized {@link com.inventory.sketch.HyperLogLog} of the customers who bought from
+ * one item, one category or the whole store on one day.
+ */
+@Entity
+@Table(name = "customer_sketches",
+       uniqueConstraints = @UniqueConstraint(name = "uk_customer_sketch",
+                                             columnNames = {"scope", "scope_key", "sales_day"}),
+       indexes = @Index(name = "idx_customer_sketch_day", columnList = "sales_day"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 8)
+    @Enumerated(EnumType.STRING)
+    private Scope scope;
+
+    /** Item id or category name; empty for the whole store. */
+    @Column(name = "scope_key", nullable = false)
+    private String scopeKey;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate day;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] registers;
+
+    @Column(name = "flushed_at", nullable = false)
+    private LocalDateTime flushedAt;
+
+    public enum Scope {
+        ITEM, CATEGORY, STORE
+    }
+}
@@ -9,7 +9,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_stock")
+@Table(name = "inventory_stock", indexes = {
+        @Index(name = "idx_inventory_category_price", columnList = "category, price"),
+        @Index(name = "idx_inventory_updated_date", columnList = "updated_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +22,7 @@ public class InventoryStock {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "item_name", nullable = false)
+    @Column(name = "item_name", nullable = false, unique = true)
     private String itemName;
 
     @Column(nullable = false)
@@ -37,6 +40,14 @@ public class InventoryStock {
     @Column(name = "updated_date")
     private LocalDateTime updatedDate;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /** Number of stock slots when the item is in slotted mode, otherwise null. */
+    @Column(name = "slot_count")
+    private Integer slotCount;
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
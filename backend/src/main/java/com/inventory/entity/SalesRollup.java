@@ -0,0 +1,67 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Entity
+@Table(name = "sales_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sales_rollup_bucket_item",
+                                             columnNames = {"granularity", "bucket_start", "item_id"}),
+       indexes = @Index(name = "idx_sales_rollup_bucket", columnList = "granularity, bucket_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 8)
+    @Enumerated(EnumType.STRING)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    private String category;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    public enum Granularity {
+        HOUR(ChronoUnit.HOURS, 31),
+        DAY(ChronoUnit.DAYS, 3660);
+
+        private final ChronoUnit unit;
+        private final int maxRangeDays;
+
+        Granularity(ChronoUnit unit, int maxRangeDays) {
+            this.unit = unit;
+            this.maxRangeDays = maxRangeDays;
+        }
+
+        public LocalDateTime bucketOf(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        public int getMaxRangeDays() {
+            return maxRangeDays;
+        }
+    }
+}
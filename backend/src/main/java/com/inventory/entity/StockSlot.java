@@ -0,0 +1,34 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One sub-counter of a slotted item's stock. The item's real quantity is the sum of
+ * its slots; {@code inventory_stock.quantity} mirrors that sum and is refreshed by
+ * {@link com.inventory.service.SlottedStockService}.
+ */
+@Entity
+@Table(name = "inventory_stock_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_slot", columnNames = {"item_id", "slot_no"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,16 @@
+package com.inventory.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.List;
+
+/**
+ * One event for a whole bulk update, so listeners can invalidate or re-index once per
+ * batch. The stock movements are carried here instead of being published one by one.
+ */
+@Getter
+@AllArgsConstructor
+public class InventoryBatchUpdatedEvent {
+    private final List<Long> itemIds;
+    private final List<StockMovementEvent> movements;
+}
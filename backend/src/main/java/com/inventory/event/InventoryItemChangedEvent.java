@@ -0,0 +1,27 @@
+package com.inventory.event;
+
+import com.inventory.entity.InventoryStock;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class InventoryItemChangedEvent {
+    private final Long itemId;
+    private final String itemName;
+    private final String category;
+    private final String description;
+    private final Integer quantity;
+    private final BigDecimal price;
+    private final boolean deleted;
+
+    public static InventoryItemChangedEvent of(InventoryStock item) {
+        return new InventoryItemChangedEvent(item.getId(), item.getItemName(), item.getCategory(),
+                item.getDescription(), item.getQuantity(), item.getPrice(), false);
+    }
+
+    public static InventoryItemChangedEvent deleted(Long itemId) {
+        return new InventoryItemChangedEvent(itemId, null, null, null, null, null, true);
+    }
+}
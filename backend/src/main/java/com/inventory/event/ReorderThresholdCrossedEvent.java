@@ -0,0 +1,14 @@
+package com.inventory.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReorderThresholdCrossedEvent {
+    private final Long itemId;
+    private final int quantity;
+    private final int threshold;
+    /** True when the item dropped below the threshold, false when it was restocked to or above it. */
+    private final boolean belowThreshold;
+}
@@ -0,0 +1,12 @@
+package com.inventory.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** The quantity an item was left at by a sale or stock adjustment, read inside the writing transaction. */
+@Getter
+@AllArgsConstructor
+public class StockLevelChangedEvent {
+    private final Long itemId;
+    private final int quantity;
+}
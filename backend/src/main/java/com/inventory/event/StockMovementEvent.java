@@ -0,0 +1,13 @@
+package com.inventory.event;
+
+import com.inventory.ledger.StockMovementType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockMovementEvent {
+    private final Long itemId;
+    private final StockMovementType type;
+    private final int delta;
+}
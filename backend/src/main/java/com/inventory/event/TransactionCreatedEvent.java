@@ -0,0 +1,30 @@
+package com.inventory.event;
+
+import com.inventory.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class TransactionCreatedEvent {
+    private final Long transactionId;
+    private final Long customerId;
+    private final Long itemId;
+    private final String category;
+    private final int quantity;
+    private final BigDecimal totalPrice;
+    private final LocalDateTime createdDate;
+
+    public static TransactionCreatedEvent of(Transaction transaction) {
+        return new TransactionCreatedEvent(
+                transaction.getId(),
+                transaction.getCustomer().getId(),
+                transaction.getItem().getId(),
+                transaction.getItem().getCategory(),
+                transaction.getQuantity(),
+                transaction.getTotalPrice(),
+                transaction.getCreatedDate());
+    }
+}
@@ -0,0 +1,406 @@
+package com.inventory.ledger;
+
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.StockLevelRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of stock movements kept outside the database.
+ *
+ * <p>Movements are appended after commit as fixed 24-byte records
+ * ({@code timestamp, itemId, delta, type}) to numbered segment files. Each closed
+ * segment gets a snapshot of every item's quantity at its end, built in the background
+ * from the previous snapshot plus that segment. Snapshot 0 is taken from
+ * {@code inventory_stock} when the ledger is first created. Rebuilding quantities as of
+ * any instant loads the nearest earlier snapshot and replays at most the segments
+ * written since, binary-searching the last one by timestamp.
+ *
+ * <p>Appends happen after the database commit and reach the disk on the next one-second
+ * {@link #sync()}, so a crash can lose up to a second of movements that
+ * {@code inventory_stock} kept. On startup the ledger's current quantities are compared
+ * with the table and every difference is appended as an {@code ADJUSTMENT} and logged,
+ * so a lost movement shows up as a correction at restart instead of a lasting drift.
+ */
+@Slf4j
+@Component
+public class StockLedger {
+
+    static final int RECORD_SIZE = 24;
+    private static final long SNAPSHOT_MAGIC = 0x534E4150_4C454447L;
+    private static final int SNAPSHOT_HEADER_SIZE = 24;
+
+    private final StockLevelRepository stockLevelRepository;
+    private final Path directory;
+    private final long segmentRecords;
+
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final ConcurrentSkipListMap<Integer, Long> snapshotTimestamps = new ConcurrentSkipListMap<>();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "stock-ledger-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    private FileChannel segment;
+    private volatile int segmentIndex;
+    private long segmentCount;
+    private long lastTimestamp;
+
+    public StockLedger(StockLevelRepository stockLevelRepository,
+                       @Value("${inventory.ledger.directory:./data/ledger}") String directory,
+                       @Value("${inventory.ledger.segment-records:1000000}") long segmentRecords) {
+        this.stockLevelRepository = stockLevelRepository;
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("snapshot-") && name.endsWith(".snap"))
+                    .forEach(name -> {
+                        int index = Integer.parseInt(name.substring(9, name.length() - 5));
+                        snapshotTimestamps.put(index, readSnapshotTimestamp(snapshotPath(index)));
+                    });
+        }
+        int latest = 1;
+        while (Files.exists(segmentPath(latest + 1))) {
+            latest++;
+        }
+        openSegment(latest);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (snapshotTimestamps.isEmpty()) {
+                LongLongMap quantities = new LongLongMap(1024);
+                stockLevelRepository.forEachLevel(quantities::put);
+                writeSnapshot(0, System.currentTimeMillis(), quantities);
+                log.info("Stock ledger started with a baseline of {} items", quantities.size());
+            } else {
+                reconcile();
+            }
+        } finally {
+            ready.countDown();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) throws InterruptedException {
+        append(event.getItemId(), StockMovementType.SALE, -event.getQuantity());
+    }
+
+    @TransactionalEventListener
+    public void onStockMovement(StockMovementEvent event) throws InterruptedException {
+        append(event.getItemId(), event.getType(), event.getDelta());
+    }
+
+    @TransactionalEventListener
+    public void onBatchUpdated(InventoryBatchUpdatedEvent event) throws InterruptedException {
+        for (StockMovementEvent movement : event.getMovements()) {
+            append(movement.getItemId(), movement.getType(), movement.getDelta());
+        }
+    }
+
+    public void append(long itemId, StockMovementType type, int delta) throws InterruptedException {
+        // The baseline snapshot must be in place before movements are applied on top of it.
+        ready.await();
+        write(itemId, type, delta);
+    }
+
+    private synchronized void write(long itemId, StockMovementType type, int delta) {
+        lastTimestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        record.clear();
+        record.putLong(lastTimestamp).putLong(itemId).putInt(delta).put((byte) type.ordinal())
+                .put((byte) 0).put((byte) 0).put((byte) 0);
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                segment.write(record);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to the stock ledger", ex);
+        }
+        if (++segmentCount >= segmentRecords) {
+            roll();
+        }
+    }
+
+    /** Appends an adjustment for every item whose ledger quantity differs from {@code inventory_stock}. */
+    private void reconcile() {
+        LongLongMap ledger = quantitiesAsOf(Long.MAX_VALUE);
+        int[] corrected = new int[1];
+        stockLevelRepository.forEachLevel((itemId, quantity) -> {
+            long drift = quantity - ledger.get(itemId, 0);
+            if (drift != 0) {
+                write(itemId, StockMovementType.ADJUSTMENT, Math.toIntExact(drift));
+                corrected[0]++;
+                log.warn("Stock ledger had item {} at {} but inventory_stock has {}; appended an adjustment",
+                        itemId, ledger.get(itemId, 0), quantity);
+            }
+        });
+        if (corrected[0] > 0) {
+            log.warn("Stock ledger reconciled {} items against inventory_stock", corrected[0]);
+        }
+    }
+
+    /** Quantity of every item as of {@code epochMillis}, rebuilt from snapshots and segments. */
+    public LongLongMap quantitiesAsOf(long epochMillis) {
+        // Snapshot timestamps grow with their index.
+        Map.Entry<Integer, Long> base = null;
+        for (Map.Entry<Integer, Long> entry : snapshotTimestamps.entrySet()) {
+            if (entry.getValue() > epochMillis) {
+                break;
+            }
+            base = entry;
+        }
+        if (base == null) {
+            throw new BadRequestException("Requested time is before the start of the stock ledger");
+        }
+        LongLongMap quantities = readSnapshot(base.getKey());
+        int lastSegment = segmentIndex;
+        for (int index = base.getKey() + 1; index <= lastSegment; index++) {
+            if (!replaySegment(index, epochMillis, quantities)) {
+                break;
+            }
+        }
+        return quantities;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval-ms:3600000}",
+               initialDelayString = "${inventory.ledger.snapshot-interval-ms:3600000}")
+    public synchronized void snapshotPeriodically() throws IOException {
+        if (segmentCount > 0) {
+            roll();
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void sync() throws IOException {
+        FileChannel current;
+        synchronized (this) {
+            current = segment;
+        }
+        try {
+            current.force(false);
+        } catch (ClosedChannelException ex) {
+            // Rolled in the meantime; roll() already forced it.
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        segment.force(true);
+        segment.close();
+    }
+
+    private void roll() {
+        try {
+            segment.force(false);
+            segment.close();
+            int closed = segmentIndex;
+            openSegment(closed + 1);
+            snapshotExecutor.execute(() -> buildSnapshot(closed));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to roll the stock ledger segment", ex);
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        segment = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = segment.size();
+        long complete = size - size % RECORD_SIZE;
+        // Drop a torn trailing record left by a crash mid-write.
+        if (complete != size) {
+            segment.truncate(complete);
+        }
+        segment.position(complete);
+        segmentCount = complete / RECORD_SIZE;
+        if (segmentCount > 0) {
+            ByteBuffer last = ByteBuffer.allocate(Long.BYTES);
+            segment.read(last, complete - RECORD_SIZE);
+            lastTimestamp = Math.max(lastTimestamp, last.flip().getLong());
+        }
+        segmentIndex = index;
+    }
+
+    private void buildSnapshot(int index) {
+        try {
+            Map.Entry<Integer, Long> base = snapshotTimestamps.lowerEntry(index);
+            if (base == null) {
+                return;
+            }
+            LongLongMap quantities = readSnapshot(base.getKey());
+            long timestamp = base.getValue();
+            for (int i = base.getKey() + 1; i <= index; i++) {
+                replaySegment(i, Long.MAX_VALUE, quantities);
+                timestamp = Math.max(timestamp, lastTimestampOf(i));
+            }
+            writeSnapshot(index, timestamp, quantities);
+        } catch (UncheckedIOException ex) {
+            log.error("Failed to write stock ledger snapshot {}", index, ex);
+        }
+    }
+
+    /** Applies records up to {@code epochMillis}; returns false once a later record is reached. */
+    private boolean replaySegment(int index, long epochMillis, LongLongMap quantities) {
+        Path path = segmentPath(index);
+        if (!Files.exists(path)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long records = channel.size() / RECORD_SIZE;
+            if (records == 0) {
+                return true;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, records * RECORD_SIZE);
+            long end = firstRecordAfter(buffer, records, epochMillis);
+            for (long i = 0; i < end; i++) {
+                int offset = (int) (i * RECORD_SIZE);
+                quantities.add(buffer.getLong(offset + 8), buffer.getInt(offset + 16));
+            }
+            return end == records;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read stock ledger segment " + index, ex);
+        }
+    }
+
+    private static long firstRecordAfter(MappedByteBuffer buffer, long records, long epochMillis) {
+        long low = 0;
+        long high = records;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (buffer.getLong((int) (mid * RECORD_SIZE)) <= epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long lastTimestampOf(int index) {
+        try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+            long records = channel.size() / RECORD_SIZE;
+            if (records == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            channel.read(buffer, (records - 1) * RECORD_SIZE);
+            return buffer.flip().getLong();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeSnapshot(int index, long timestamp, LongLongMap quantities) {
+        Path target = snapshotPath(index);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            buffer.putLong(SNAPSHOT_MAGIC).putLong(timestamp).putInt(index).putInt(quantities.size());
+            quantities.forEach((itemId, quantity) -> {
+                if (buffer.remaining() < 16) {
+                    drain(channel, buffer);
+                }
+                buffer.putLong(itemId).putLong(quantity);
+            });
+            drain(channel, buffer);
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write stock ledger snapshot " + index, ex);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to publish stock ledger snapshot " + index, ex);
+        }
+        snapshotTimestamps.put(index, timestamp);
+    }
+
+    private LongLongMap readSnapshot(int index) {
+        try (FileChannel channel = FileChannel.open(snapshotPath(index), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getLong(0) != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a stock ledger snapshot: " + snapshotPath(index));
+            }
+            int entries = buffer.getInt(20);
+            LongLongMap quantities = new LongLongMap(entries);
+            for (int i = 0; i < entries; i++) {
+                int offset = SNAPSHOT_HEADER_SIZE + i * 16;
+                quantities.put(buffer.getLong(offset), buffer.getLong(offset + 8));
+            }
+            return quantities;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read stock ledger snapshot " + index, ex);
+        }
+    }
+
+    private long readSnapshotTimestamp(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+            channel.read(header, 0);
+            return header.flip().getLong(8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read stock ledger snapshot " + path, ex);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("segment-%06d.log", index));
+    }
+
+    private Path snapshotPath(int index) {
+        return directory.resolve(String.format("snapshot-%06d.snap", index));
+    }
+}
@@ -0,0 +1,5 @@
+package com.inventory.ledger;
+
+public enum StockMovementType {
+    SALE, RESTOCK, ADJUSTMENT
+}
@@ -0,0 +1,35 @@
+package com.inventory.repository;
+
+import com.inventory.entity.CustomerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerSketchRepository extends JpaRepository<CustomerSketch, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_sketches (scope, scope_key, sales_day, registers, flushed_at) " +
+                   "VALUES (:scope, :scopeKey, :day, :registers, :flushedAt) " +
+                   "ON DUPLICATE KEY UPDATE registers = :registers, flushed_at = :flushedAt",
+           nativeQuery = true)
+    int upsert(@Param("scope") String scope,
+               @Param("scopeKey") String scopeKey,
+               @Param("day") LocalDate day,
+               @Param("registers") byte[] registers,
+               @Param("flushedAt") LocalDateTime flushedAt);
+
+    List<CustomerSketch> findByDayGreaterThanEqual(LocalDate day);
+
+    @Modifying
+    @Query("DELETE FROM CustomerSketch s WHERE s.day < :cutoff")
+    int deleteByDayBefore(@Param("cutoff") LocalDate cutoff);
+
+    @Query("SELECT MAX(s.flushedAt) FROM CustomerSketch s")
+    LocalDateTime findLastFlushedAt();
+}
@@ -1,22 +1,41 @@
 package com.inventory.repository;
 
+import com.inventory.dto.InventoryItemSummary;
 import com.inventory.entity.InventoryStock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface InventoryStockRepository extends JpaRepository<InventoryStock, Long> {
-    List<InventoryStock> findByCategory(String category);
-
+public interface InventoryStockRepository extends JpaRepository<InventoryStock, Long>, JpaSpecificationExecutor<InventoryStock> {
     List<InventoryStock> findByItemNameContainingIgnoreCase(String itemName);
 
+    boolean existsByItemName(String itemName);
+
     @Query("SELECT DISTINCT i.category FROM InventoryStock i WHERE i.category IS NOT NULL")
     List<String> findAllCategories();
 
     List<InventoryStock> findByQuantityLessThan(Integer quantity);
 
-    @Query("SELECT i FROM InventoryStock i WHERE i.quantity > 0")
-    List<InventoryStock> findAvailableItems();
+    String SUMMARY_SELECT = "SELECT new com.inventory.dto.InventoryItemSummary(i.id, i.itemName, i.quantity, i.category, i.price, i.updatedDate) FROM InventoryStock i ";
+
+    @Query(SUMMARY_SELECT + "WHERE i.quantity > 0 ORDER BY i.id")
+    List<InventoryItemSummary> findAvailableSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE i.category = :category ORDER BY i.id")
+    List<InventoryItemSummary> findSummariesByCategory(@Param("category") String category);
+
+    @Modifying
+    @Query("UPDATE InventoryStock i SET i.quantity = i.quantity - :quantity, i.updatedDate = CURRENT_TIMESTAMP, i.version = i.version + 1 " +
+           "WHERE i.id = :id AND i.quantity >= :quantity AND i.slotCount IS NULL")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE InventoryStock i SET i.quantity = i.quantity + :delta, i.updatedDate = CURRENT_TIMESTAMP, i.version = i.version + 1 " +
+           "WHERE i.id = :id AND i.quantity + :delta >= 0 AND i.slotCount IS NULL")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
 }
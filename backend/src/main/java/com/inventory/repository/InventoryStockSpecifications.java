@@ -0,0 +1,46 @@
+package com.inventory.repository;
+
+import com.inventory.entity.InventoryStock;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Composable filters for {@link InventoryStockRepository}. Each factory returns
+ * {@code null} when its argument is absent, which {@link Specification#allOf} skips.
+ */
+public final class InventoryStockSpecifications {
+
+    private InventoryStockSpecifications() {
+    }
+
+    public static Specification<InventoryStock> inCategory(String category) {
+        return category == null || category.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<InventoryStock> priceAtLeast(BigDecimal minPrice) {
+        return minPrice == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<InventoryStock> priceAtMost(BigDecimal maxPrice) {
+        return maxPrice == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<InventoryStock> inStock(Boolean inStock) {
+        if (inStock == null) {
+            return null;
+        }
+        return inStock
+                ? (root, query, cb) -> cb.greaterThan(root.get("quantity"), 0)
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("quantity"), 0);
+    }
+
+    public static Specification<InventoryStock> updatedSince(LocalDateTime since) {
+        return since == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedDate"), since);
+    }
+}
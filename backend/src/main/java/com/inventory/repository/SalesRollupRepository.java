@@ -0,0 +1,46 @@
+package com.inventory.repository;
+
+import com.inventory.dto.SalesReportRow;
+import com.inventory.entity.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollup (granularity, bucket_start, item_id, category, units, revenue, transaction_count) " +
+                   "VALUES (:granularity, :bucketStart, :itemId, :category, :units, :revenue, :transactions) " +
+                   "ON DUPLICATE KEY UPDATE units = units + :units, revenue = revenue + :revenue, " +
+                   "transaction_count = transaction_count + :transactions",
+           nativeQuery = true)
+    int upsert(@Param("granularity") String granularity,
+               @Param("bucketStart") LocalDateTime bucketStart,
+               @Param("itemId") Long itemId,
+               @Param("category") String category,
+               @Param("units") long units,
+               @Param("revenue") BigDecimal revenue,
+               @Param("transactions") long transactions);
+
+    @Query("SELECT new com.inventory.dto.SalesReportRow(r.bucketStart, r.itemId, i.itemName, r.category, " +
+           "r.units, r.revenue, r.transactionCount) FROM SalesRollup r LEFT JOIN InventoryStock i ON i.id = r.itemId " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "ORDER BY r.bucketStart, r.itemId")
+    List<SalesReportRow> findByItem(@Param("granularity") SalesRollup.Granularity granularity,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.inventory.dto.SalesReportRow(r.bucketStart, r.category, SUM(r.units), SUM(r.revenue), " +
+           "SUM(r.transactionCount)) FROM SalesRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart, r.category ORDER BY r.bucketStart, r.category")
+    List<SalesReportRow> findByCategory(@Param("granularity") SalesRollup.Granularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,41 @@
+package com.inventory.repository;
+
+import com.inventory.dto.StockLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Current quantity of each item: the slot total for slotted items, the row value
+ * otherwise. Slot rows are summed in one grouped pass rather than per item.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockLevelRepository {
+
+    private static final String CURRENT_QUANTITIES_SQL =
+            "SELECT i.id, COALESCE(s.total, i.quantity) AS quantity FROM inventory_stock i " +
+            "LEFT JOIN (SELECT item_id, SUM(quantity) AS total FROM inventory_stock_slots GROUP BY item_id) s " +
+            "ON s.item_id = i.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Streams the quantity of every item without holding the result set in memory. */
+    public void forEachLevel(BiConsumer<Long, Integer> consumer) {
+        jdbcTemplate.getJdbcTemplate().query(CURRENT_QUANTITIES_SQL,
+                rs -> {
+                    consumer.accept(rs.getLong(1), rs.getInt(2));
+                });
+    }
+
+    public List<StockLevel> findLevels(Collection<Long> itemIds) {
+        return jdbcTemplate.query(CURRENT_QUANTITIES_SQL + " WHERE i.id IN (:ids)",
+                new MapSqlParameterSource("ids", itemIds),
+                (rs, rowNum) -> new StockLevel(rs.getLong(1), rs.getInt(2)));
+    }
+}
@@ -1,12 +1,22 @@
 package com.inventory.repository;
 
+import com.inventory.dto.CustomerSpendSummary;
+import com.inventory.dto.TransactionDTO;
 import com.inventory.entity.Transaction;
+import com.inventory.event.TransactionCreatedEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -19,4 +29,54 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     @Query("SELECT t FROM Transaction t ORDER BY t.createdDate DESC")
     List<Transaction> findAllOrderByDateDesc();
+
+    @Query("SELECT COALESCE(SUM(t.totalPrice), 0) FROM Transaction t")
+    BigDecimal sumTotalPrice();
+
+    @Query("SELECT new com.inventory.dto.CustomerSpendSummary(COUNT(t), COALESCE(SUM(t.totalPrice), 0)) " +
+           "FROM Transaction t WHERE t.customer.id = :customerId")
+    CustomerSpendSummary summarizeByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.inventory.event.TransactionCreatedEvent(t.id, t.customer.id, i.id, i.category, " +
+           "t.quantity, t.totalPrice, t.createdDate) FROM Transaction t JOIN t.item i WHERE t.id > :afterId ORDER BY t.id")
+    List<TransactionCreatedEvent> findEventsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT MIN(t.id) FROM Transaction t WHERE t.createdDate >= :since")
+    Long findFirstIdCreatedSince(@Param("since") LocalDateTime since);
+
+    String DTO_SELECT = "SELECT new com.inventory.dto.TransactionDTO(t.id, c.id, c.name, i.id, i.itemName, " +
+                        "t.quantity, t.totalPrice, t.createdDate) FROM Transaction t JOIN t.customer c JOIN t.item i ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(DTO_SELECT + "WHERE t.createdDate >= :from AND t.createdDate < :to ORDER BY t.createdDate, t.id")
+    Stream<TransactionDTO> streamByDateRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(DTO_SELECT + "WHERE t.id = :id")
+    Optional<TransactionDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findFirstPage(Limit limit);
+
+    @Query(DTO_SELECT + "WHERE t.createdDate < :createdDate " +
+           "OR (t.createdDate = :createdDate AND t.id < :id) ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findPageAfter(@Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") Long id, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE c.id = :customerId ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByCustomerId(@Param("customerId") Long customerId, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE c.id = :customerId AND (t.createdDate < :createdDate " +
+           "OR (t.createdDate = :createdDate AND t.id < :id)) ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findPageAfterByCustomerId(@Param("customerId") Long customerId,
+                                                   @Param("createdDate") LocalDateTime createdDate,
+                                                   @Param("id") Long id, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByItemId(@Param("itemId") Long itemId, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId AND (t.createdDate < :createdDate " +
+           "OR (t.createdDate = :createdDate AND t.id < :id)) ORDER BY t.createdDate DESC, t.id DESC")
+    List<TransactionDTO> findPageAfterByItemId(@Param("itemId") Long itemId,
+                                               @Param("createdDate") LocalDateTime createdDate,
+                                               @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,330 @@
+package com.inventory.search;
+
+import com.inventory.event.InventoryItemChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over item name, category and the start of the description.
+ *
+ * <p>Every word is indexed with two leading blanks and one trailing blank, so short
+ * queries behave as word-prefix matches and longer ones match anywhere. A document is
+ * returned when at least half of the query's trigrams hit one field, which tolerates a
+ * typo or two; matches are ranked by per-field trigram coverage (name 3x, category 2x,
+ * description 1x) with a bonus when the name contains the query verbatim.
+ *
+ * <p>Deletes only mark a slot dead; a periodic compaction strips dead slots from the
+ * posting lists and makes them reusable.
+ */
+@Slf4j
+@Component
+public class InventorySearchIndex {
+
+    private static final int NAME = 0;
+    private static final int CATEGORY = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int[] FIELD_WEIGHTS = {3, 2, 1};
+    private static final int[] FIELD_SHIFTS = {0, 10, 20};
+    private static final int MAX_QUERY_CHARS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int descriptionChars;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Postings>[] postings = new Map[]{new HashMap<>(), new HashMap<>(), new HashMap<>()};
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private int slotCount;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final List<Integer> deadSlots = new ArrayList<>();
+    private final List<InventoryItemChangedEvent> pendingChanges = new ArrayList<>();
+    private volatile boolean ready;
+
+    private final ThreadLocal<QueryBuffers> buffers = ThreadLocal.withInitial(QueryBuffers::new);
+
+    public InventorySearchIndex(JdbcTemplate jdbcTemplate,
+                                @Value("${inventory.search.description-chars:64}") int descriptionChars) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.descriptionChars = descriptionChars;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        jdbcTemplate.query("SELECT id, item_name, category, description FROM inventory_stock", rs -> {
+            long id = rs.getLong(1);
+            String name = rs.getString(2);
+            String category = rs.getString(3);
+            String description = rs.getString(4);
+            lock.writeLock().lock();
+            try {
+                upsertLocked(id, name, category, description);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            // Changes committed while the table was being read are re-applied; upserts are idempotent.
+            pendingChanges.forEach(this::applyLocked);
+            pendingChanges.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built for {} items in {} ms", slotById.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pendingChanges.add(event);
+            }
+            applyLocked(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Item ids matching {@code query}, best match first. */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_QUERY_CHARS) {
+            normalized = normalized.substring(0, MAX_QUERY_CHARS);
+        }
+        long[] grams = queryGrams(normalized);
+        int required = grams.length <= 3 ? grams.length : (grams.length + 1) / 2;
+
+        lock.readLock().lock();
+        try {
+            QueryBuffers buffer = buffers.get();
+            buffer.ensureCapacity(slotCount);
+            int[] hits = buffer.hits;
+            int[] touched = buffer.touched;
+            int touchedCount = 0;
+            for (int field = NAME; field <= DESCRIPTION; field++) {
+                int increment = 1 << FIELD_SHIFTS[field];
+                for (long gram : grams) {
+                    Postings list = postings[field].get(gram);
+                    if (list == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < list.size; i++) {
+                        int slot = list.slots[i];
+                        if (hits[slot] == 0) {
+                            touched[touchedCount++] = slot;
+                        }
+                        hits[slot] += increment;
+                    }
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+            for (int t = 0; t < touchedCount; t++) {
+                int slot = touched[t];
+                int packed = hits[slot];
+                hits[slot] = 0;
+                if (ids[slot] == 0) {
+                    continue;
+                }
+                double score = 0;
+                int bestFieldHits = 0;
+                for (int field = NAME; field <= DESCRIPTION; field++) {
+                    int fieldHits = (packed >>> FIELD_SHIFTS[field]) & 0x3FF;
+                    bestFieldHits = Math.max(bestFieldHits, fieldHits);
+                    score += FIELD_WEIGHTS[field] * (double) fieldHits / grams.length;
+                }
+                if (bestFieldHits < required) {
+                    continue;
+                }
+                String name = names[slot];
+                if (name.startsWith(normalized)) {
+                    score += 2;
+                } else if (name.contains(normalized)) {
+                    score += 1;
+                }
+                best.add(new Match(ids[slot], score, name.length()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().id;
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (deadSlots.size() < 1024 || deadSlots.size() * 4 < slotById.size()) {
+                return;
+            }
+            for (Map<Long, Postings> field : postings) {
+                field.values().removeIf(list -> list.removeDead(ids) == 0);
+            }
+            freeSlots.addAll(deadSlots);
+            deadSlots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(InventoryItemChangedEvent event) {
+        if (event.isDeleted()) {
+            removeLocked(event.getItemId());
+        } else {
+            upsertLocked(event.getItemId(), event.getItemName(), event.getCategory(), event.getDescription());
+        }
+    }
+
+    private void upsertLocked(long id, String name, String category, String description) {
+        removeLocked(id);
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.poll();
+        if (slot >= ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        String normalizedName = normalize(name);
+        ids[slot] = id;
+        names[slot] = normalizedName;
+        slotById.put(id, slot);
+        index(NAME, slot, normalizedName);
+        index(CATEGORY, slot, normalize(category));
+        if (description != null && descriptionChars > 0) {
+            index(DESCRIPTION, slot, normalize(description.length() > descriptionChars
+                    ? description.substring(0, descriptionChars) : description));
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            ids[slot] = 0;
+            names[slot] = null;
+            deadSlots.add(slot);
+        }
+    }
+
+    private void index(int field, int slot, String text) {
+        Set<Long> grams = new HashSet<>();
+        for (String word : text.split(" ")) {
+            if (!word.isEmpty()) {
+                addGrams("  " + word + " ", grams);
+            }
+        }
+        for (long gram : grams) {
+            postings[field].computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private static long[] queryGrams(String query) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : query.split(" ")) {
+            if (!word.isEmpty()) {
+                addGrams("  " + word, grams);
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void addGrams(String padded, Set<Long> grams) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return space && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    private record Match(long id, double score, int nameLength) implements Comparable<Match> {
+        // Orders worst first so the priority queue evicts the weakest match.
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(score, other.score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byLength = Integer.compare(other.nameLength, nameLength);
+            return byLength != 0 ? byLength : Long.compare(other.id, id);
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int removeDead(long[] ids) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[slots[i]] != 0) {
+                    slots[kept++] = slots[i];
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    private static final class QueryBuffers {
+        private int[] hits = new int[0];
+        private int[] touched = new int[0];
+
+        void ensureCapacity(int slots) {
+            if (hits.length < slots) {
+                hits = new int[slots + slots / 2];
+                touched = new int[hits.length];
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.inventory.service;
+
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.event.TransactionCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregate version of the whole catalogue, used as the ETag of inventory list
+ * responses. It moves forward after every committed change to any item; the boot
+ * timestamp prefix keeps tags from one process run from matching another's.
+ */
+@Component
+public class CatalogVersion {
+
+    private final long bootMillis = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    public String etag() {
+        return "\"catalog-" + bootMillis + "-" + changes.get() + "\"";
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onStockMovement(StockMovementEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onBatchUpdated(InventoryBatchUpdatedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    // Also covers the slot rebalancer refreshing the quantity that list responses show.
+    @TransactionalEventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        changes.incrementAndGet();
+    }
+}
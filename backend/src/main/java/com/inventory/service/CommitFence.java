@@ -0,0 +1,164 @@
+package com.inventory.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an in-memory aggregate in step with the rows it summarises, counting every
+ * commit exactly once. Changes are recorded inside the writing transaction and applied
+ * when it commits. A load reads the table in a REPEATABLE READ snapshot opened at a
+ * moment when no recorded commit is in flight, so each commit is either in the snapshot
+ * or applied on top of it. Changes that commit while a load runs are held back and
+ * applied after its result is installed. Writers never wait; a load retries opening its
+ * snapshot until it gets a quiet moment, so it is never skipped.
+ *
+ * <p>{@code apply} and {@code install} run holding {@code lock}.
+ */
+final class CommitFence<D> {
+
+    // Any consistent read fixes the snapshot for the rest of a REPEATABLE READ transaction.
+    private static final String OPEN_SNAPSHOT_SQL = "SELECT id FROM inventory_stock LIMIT 1";
+
+    private final Object lock;
+    private final Consumer<D> apply;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final Object loadLock = new Object();
+
+    private int inFlight;
+    private long commitsStarted;
+    private boolean loaded;
+    private List<D> held;
+
+    CommitFence(Object lock, Consumer<D> apply, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.lock = lock;
+        this.apply = apply;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+    }
+
+    /** Whether a load has completed; inside {@code install}, whether an earlier one had. */
+    boolean isLoaded() {
+        synchronized (lock) {
+            return loaded;
+        }
+    }
+
+    /** Applies {@code change} once the current transaction commits, or now outside one. */
+    void record(D change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (lock) {
+                commitsStarted++;
+                deliver(change);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (lock) {
+                    commitsStarted++;
+                    inFlight++;
+                }
+                committing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!committing) {
+                    return;
+                }
+                synchronized (lock) {
+                    if (status == STATUS_COMMITTED) {
+                        deliver(change);
+                    }
+                    if (--inFlight == 0) {
+                        lock.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs {@code query} in a fresh snapshot and passes its result to {@code install},
+     * then applies the changes that committed after the snapshot was taken.
+     */
+    <T> void load(Supplier<T> query, Consumer<T> install) {
+        synchronized (loadLock) {
+            List<T> result = new ArrayList<>(1);
+            try {
+                while (!Boolean.TRUE.equals(snapshotTemplate.execute(status -> read(query, result)))) {
+                    Thread.onSpinWait();
+                }
+            } catch (RuntimeException ex) {
+                synchronized (lock) {
+                    // The old aggregate stays; it still needs what committed meanwhile.
+                    if (held != null && loaded) {
+                        held.forEach(apply);
+                    }
+                    held = null;
+                }
+                throw ex;
+            }
+            synchronized (lock) {
+                install.accept(result.get(0));
+                held.forEach(apply);
+                held = null;
+                loaded = true;
+            }
+        }
+    }
+
+    private <T> boolean read(Supplier<T> query, List<T> result) {
+        long started = awaitQuiet();
+        jdbcTemplate.query(OPEN_SNAPSHOT_SQL, rs -> {
+        });
+        synchronized (lock) {
+            // A commit began between the quiet moment and the snapshot; it may or may not be in it.
+            if (commitsStarted != started) {
+                return false;
+            }
+            held = new ArrayList<>();
+        }
+        result.add(query.get());
+        return true;
+    }
+
+    private long awaitQuiet() {
+        synchronized (lock) {
+            while (inFlight > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for commits to finish", ex);
+                }
+            }
+            return commitsStarted;
+        }
+    }
+
+    private void deliver(D change) {
+        if (held != null) {
+            held.add(change);
+        } else if (loaded) {
+            apply.accept(change);
+        }
+        // Before the first load, the change is already in whatever that load's snapshot reads.
+    }
+}
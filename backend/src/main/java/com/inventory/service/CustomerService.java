@@ -8,6 +8,7 @@ import com.inventory.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +19,8 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final LookupCache lookupCache;
+    private final DashboardStatsTracker dashboardStats;
 
     public LoginResponse login(LoginRequest request) {
         Customer customer = customerRepository.findByEmail(request.getEmail())
@@ -40,6 +43,7 @@ public class CustomerService {
                 .build();
     }
 
+    @Transactional
     public CustomerDTO createCustomer(CreateCustomerRequest request) {
         if (customerRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already exists");
@@ -52,7 +56,9 @@ public class CustomerService {
                 .phoneNumber(request.getPhoneNumber())
                 .build();
 
-        return CustomerDTO.fromEntity(customerRepository.save(customer));
+        CustomerDTO created = CustomerDTO.fromEntity(customerRepository.save(customer));
+        dashboardStats.customersChanged(1);
+        return created;
     }
 
     public CustomerDTO updateCustomer(Long id, CreateCustomerRequest request) {
@@ -71,9 +77,12 @@ public class CustomerService {
         }
         if (request.getPhoneNumber() != null) customer.setPhoneNumber(request.getPhoneNumber());
 
-        return CustomerDTO.fromEntity(customerRepository.save(customer));
+        CustomerDTO updated = CustomerDTO.fromEntity(customerRepository.save(customer));
+        lookupCache.evictCustomer(id);
+        return updated;
     }
 
+    @Transactional
     public void deleteCustomer(Long id) {
         if (id == null) {
             throw new BadRequestException("Customer id must not be null");
@@ -82,6 +91,8 @@ public class CustomerService {
             throw new ResourceNotFoundException("Customer not found with id: " + id);
         }
         customerRepository.deleteById(id);
+        lookupCache.evictCustomer(id);
+        dashboardStats.customersChanged(-1);
     }
 
     public CustomerDTO getCustomerById(Long id) {
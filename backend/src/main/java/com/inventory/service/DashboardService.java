@@ -1,7 +1,6 @@
 package com.inventory.service;
 
 import com.inventory.dto.DashboardStats;
-import com.inventory.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -9,20 +8,18 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final StaffRepository staffRepository;
-    private final CustomerRepository customerRepository;
-    private final InventoryStockRepository inventoryRepository;
-    private final TransactionRepository transactionRepository;
-    private final TransactionService transactionService;
+    private final DashboardStatsTracker statsTracker;
+    private final RevenueTracker revenueTracker;
+    private final LowStockTracker lowStockTracker;
 
     public DashboardStats getStats() {
         return DashboardStats.builder()
-                .totalStaff(staffRepository.count())
-                .totalCustomers(customerRepository.count())
-                .totalInventoryItems(inventoryRepository.count())
-                .totalTransactions(transactionRepository.count())
-                .lowStockItems(inventoryRepository.findByQuantityLessThan(10).size())
-                .totalRevenue(transactionService.getTotalRevenue())
+                .totalStaff(statsTracker.staffCount())
+                .totalCustomers(statsTracker.customerCount())
+                .totalInventoryItems(statsTracker.itemCount())
+                .totalTransactions(statsTracker.transactionCount())
+                .lowStockItems(lowStockTracker.countBelow(10))
+                .totalRevenue(revenueTracker.getTotal())
                 .build();
     }
 }
@@ -0,0 +1,121 @@
+package com.inventory.service;
+
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.repository.InventoryStockRepository;
+import com.inventory.repository.StaffRepository;
+import com.inventory.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Row counts behind the dashboard, kept in counters that the owning services advance as
+ * their writes commit. Each counter is written only under its own fence lock, so writes
+ * to different counts never contend, and reads are a plain volatile load. Each counter
+ * is loaded with {@code count()} at startup and checked against it on a schedule through
+ * a {@link CommitFence}, so no commit is missed or counted twice.
+ */
+@Slf4j
+@Component
+public class DashboardStatsTracker {
+
+    private final StaffRepository staffRepository;
+    private final CustomerRepository customerRepository;
+    private final InventoryStockRepository inventoryRepository;
+    private final TransactionRepository transactionRepository;
+
+    private final Counter staff;
+    private final Counter customers;
+    private final Counter items;
+    private final Counter transactions;
+
+    public DashboardStatsTracker(StaffRepository staffRepository, CustomerRepository customerRepository,
+                                 InventoryStockRepository inventoryRepository, TransactionRepository transactionRepository,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.staffRepository = staffRepository;
+        this.customerRepository = customerRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.staff = new Counter("staff", jdbcTemplate, transactionManager);
+        this.customers = new Counter("customers", jdbcTemplate, transactionManager);
+        this.items = new Counter("inventory items", jdbcTemplate, transactionManager);
+        this.transactions = new Counter("transactions", jdbcTemplate, transactionManager);
+    }
+
+    public long staffCount() {
+        return staff.value;
+    }
+
+    public long customerCount() {
+        return customers.value;
+    }
+
+    public long itemCount() {
+        return items.value;
+    }
+
+    public long transactionCount() {
+        return transactions.value;
+    }
+
+    // Called from inside the writing transaction; the change only counts once it commits.
+    public void staffChanged(long delta) {
+        staff.fence.record(delta);
+    }
+
+    public void customersChanged(long delta) {
+        customers.fence.record(delta);
+    }
+
+    public void itemsChanged(long delta) {
+        items.fence.record(delta);
+    }
+
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        transactions.fence.record(1L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        staff.load(staffRepository::count);
+        customers.load(customerRepository::count);
+        items.load(inventoryRepository::count);
+        transactions.load(transactionRepository::count);
+    }
+
+    private static final class Counter {
+        private final String name;
+        // Written only by the fence under its lock; read without it.
+        private volatile long value;
+        private final CommitFence<Long> fence;
+
+        Counter(String name, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+            this.name = name;
+            this.fence = new CommitFence<>(this, delta -> value += delta, jdbcTemplate, transactionManager);
+        }
+
+        void load(Supplier<Long> persistedCount) {
+            fence.load(persistedCount, persisted -> {
+                long tracked = value;
+                if (fence.isLoaded() && persisted != tracked) {
+                    log.warn("Dashboard count of {} drifted from the database: tracked {}, persisted {}", name, tracked, persisted);
+                }
+                value = persisted;
+            });
+        }
+    }
+}
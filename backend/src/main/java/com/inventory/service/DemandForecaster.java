@@ -0,0 +1,105 @@
+package com.inventory.service;
+
+import com.inventory.dto.StockForecast;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.ledger.LongLongMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Per-item sales velocity as an exponentially weighted rate with a configurable
+ * half-life. Each item keeps one decayed rate and the time it was last brought up to
+ * date, held in primitive arrays indexed through a {@link LongLongMap}, so a committed
+ * sale costs one lookup and one {@code exp}. The rates are warm-started by replaying
+ * transaction history at startup.
+ */
+@Slf4j
+@Component
+public class DemandForecaster {
+
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+
+    private final double meanLifetimeMillis;
+
+    private final LongLongMap slots = new LongLongMap(1024);
+    private double[] rates = new double[1024];
+    private long[] updatedAt = new long[1024];
+    private int used;
+
+    private final TransactionHistoryReader.Feed feed;
+
+    public DemandForecaster(TransactionHistoryReader historyReader,
+                            @Value("${inventory.forecast.half-life-days:7}") double halfLifeDays) {
+        this.meanLifetimeMillis = halfLifeDays * MILLIS_PER_DAY / Math.log(2);
+        this.feed = historyReader.feed(this, this::record)
+                .onReplayed(replayed -> log.info("Demand forecaster warmed up from {} transactions", replayed));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        feed.offer(event);
+    }
+
+    /** Forecast for each of the given items, in item id order. */
+    public List<StockForecast> forecast(Map<Long, Integer> quantities, int horizonDays) {
+        long now = System.currentTimeMillis();
+        List<StockForecast> forecasts = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                long slot = slots.get(entry.getKey(), -1);
+                double rate = slot < 0 ? 0 : decayedRate((int) slot, now);
+                forecasts.add(forecast(entry.getKey(), entry.getValue(), rate, horizonDays));
+            }
+        }
+        return forecasts;
+    }
+
+    private static StockForecast forecast(long itemId, int quantity, double rate, int horizonDays) {
+        int projected = (int) Math.ceil(rate * horizonDays);
+        Double daysLeft = rate > 0 ? quantity / rate : null;
+        return new StockForecast(itemId, quantity, rate, daysLeft, projected, Math.max(0, projected - quantity));
+    }
+
+    private void record(TransactionCreatedEvent event) {
+        long at = toMillis(event.getCreatedDate());
+        int slot = slotFor(event.getItemId());
+        double contribution = event.getQuantity() * MILLIS_PER_DAY / meanLifetimeMillis;
+        if (at >= updatedAt[slot]) {
+            rates[slot] = decayedRate(slot, at) + contribution;
+            updatedAt[slot] = at;
+        } else {
+            // A sale older than the last update is decayed to that point instead.
+            rates[slot] += contribution * Math.exp((at - updatedAt[slot]) / meanLifetimeMillis);
+        }
+    }
+
+    private double decayedRate(int slot, long nowMillis) {
+        long elapsed = nowMillis - updatedAt[slot];
+        return elapsed <= 0 ? rates[slot] : rates[slot] * Math.exp(-elapsed / meanLifetimeMillis);
+    }
+
+    private int slotFor(long itemId) {
+        long slot = slots.get(itemId, -1);
+        if (slot >= 0) {
+            return (int) slot;
+        }
+        if (used == rates.length) {
+            rates = Arrays.copyOf(rates, used * 2);
+            updatedAt = Arrays.copyOf(updatedAt, used * 2);
+        }
+        slots.put(itemId, used);
+        return used++;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null
+                ? System.currentTimeMillis()
+                : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
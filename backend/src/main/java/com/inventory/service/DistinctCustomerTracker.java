@@ -0,0 +1,177 @@
+package com.inventory.service;
+
+import com.inventory.dto.DistinctCustomerReport;
+import com.inventory.entity.CustomerSketch;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.CustomerSketchRepository;
+import com.inventory.repository.TransactionRepository;
+import com.inventory.sketch.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Distinct customers per item, per category and for the whole store, one
+ * {@link HyperLogLog} per day. Sketches are updated in memory as sales commit and
+ * written back on a schedule; a report over a date range merges the daily sketches.
+ *
+ * <p>At startup the persisted sketches are loaded and the transactions since the last
+ * flush are replayed. Adding a customer twice leaves a sketch unchanged, so replaying
+ * a few minutes more than needed is harmless.
+ */
+@Slf4j
+@Component
+public class DistinctCustomerTracker {
+
+    // Covers sales created before the last flush but committed after it.
+    private static final long REPLAY_OVERLAP_MINUTES = 5;
+    private static final String STORE_KEY = "";
+
+    private final CustomerSketchRepository sketchRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    private final Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+    private final Set<SketchKey> dirty = new HashSet<>();
+
+    private final TransactionHistoryReader.Feed feed;
+
+    public DistinctCustomerTracker(CustomerSketchRepository sketchRepository,
+                                   TransactionRepository transactionRepository,
+                                   TransactionHistoryReader historyReader,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${inventory.customer-sketches.retention-days:90}") int retentionDays) {
+        this.sketchRepository = sketchRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.feed = historyReader.feed(this, this::record).replayAfter(this::load)
+                .onReplayed(replayed -> log.info("Replayed {} transactions into customer sketches", replayed));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        feed.offer(event);
+    }
+
+    /** Loads the persisted sketches and returns the id to replay history after. */
+    private long load() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays - 1);
+        List<CustomerSketch> persisted = sketchRepository.findByDayGreaterThanEqual(cutoff);
+        synchronized (this) {
+            for (CustomerSketch row : persisted) {
+                SketchKey key = new SketchKey(row.getScope(), row.getScopeKey(), row.getDay());
+                HyperLogLog loaded = HyperLogLog.fromBytes(row.getRegisters());
+                HyperLogLog live = sketches.putIfAbsent(key, loaded);
+                if (live != null) {
+                    live.merge(loaded);
+                }
+            }
+        }
+
+        LocalDateTime lastFlush = sketchRepository.findLastFlushedAt();
+        LocalDateTime since = cutoff.atStartOfDay();
+        if (lastFlush != null && lastFlush.minusMinutes(REPLAY_OVERLAP_MINUTES).isAfter(since)) {
+            since = lastFlush.minusMinutes(REPLAY_OVERLAP_MINUTES);
+        }
+        Long firstId = transactionRepository.findFirstIdCreatedSince(since);
+        log.info("Loaded {} customer sketches", persisted.size());
+        return firstId != null ? firstId - 1 : Long.MAX_VALUE;
+    }
+
+    /** Customers in the date range, inclusive; defaults to the last seven days. */
+    public DistinctCustomerReport report(Long itemId, String category, LocalDate from, LocalDate to) {
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = to.minusDays(6);
+        }
+        if (itemId != null && category != null) {
+            throw new BadRequestException("Give either itemId or category, not both");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (from.isBefore(LocalDate.now().minusDays(retentionDays - 1))) {
+            throw new BadRequestException("Distinct customer counts are kept for the last " + retentionDays + " days");
+        }
+        CustomerSketch.Scope scope = itemId != null ? CustomerSketch.Scope.ITEM
+                : category != null ? CustomerSketch.Scope.CATEGORY : CustomerSketch.Scope.STORE;
+        String key = itemId != null ? itemId.toString() : category != null ? category : STORE_KEY;
+
+        HyperLogLog merged = new HyperLogLog();
+        synchronized (this) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                HyperLogLog daily = sketches.get(new SketchKey(scope, key, day));
+                if (daily != null) {
+                    merged.merge(daily);
+                }
+            }
+        }
+        return new DistinctCustomerReport(scope.name(), key, from, to, merged.estimate(), HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    /** Writes changed sketches back and drops days that have left the retention window, in memory and in the table. */
+    @Scheduled(fixedDelayString = "${inventory.customer-sketches.flush-interval-ms:60000}",
+               initialDelayString = "${inventory.customer-sketches.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        LocalDateTime flushedAt = LocalDateTime.now();
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays - 1);
+        Map<SketchKey, byte[]> changed = new HashMap<>();
+        synchronized (this) {
+            for (SketchKey key : dirty) {
+                changed.put(key, sketches.get(key).toBytes());
+            }
+            dirty.clear();
+            sketches.keySet().removeIf(key -> key.day.isBefore(cutoff) && !changed.containsKey(key));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                changed.forEach((key, registers) ->
+                        sketchRepository.upsert(key.scope.name(), key.key, key.day, registers, flushedAt));
+                int expired = sketchRepository.deleteByDayBefore(cutoff);
+                if (expired > 0) {
+                    log.info("Deleted {} customer sketches from before {}", expired, cutoff);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Writing {} customer sketches failed, will retry: {}", changed.size(), ex.getMessage());
+            synchronized (this) {
+                changed.keySet().stream().filter(sketches::containsKey).forEach(dirty::add);
+            }
+        }
+    }
+
+    private void record(TransactionCreatedEvent event) {
+        LocalDate day = event.getCreatedDate() != null ? event.getCreatedDate().toLocalDate() : LocalDate.now();
+        if (day.isBefore(LocalDate.now().minusDays(retentionDays - 1))) {
+            return;
+        }
+        add(new SketchKey(CustomerSketch.Scope.ITEM, event.getItemId().toString(), day), event.getCustomerId());
+        if (event.getCategory() != null) {
+            add(new SketchKey(CustomerSketch.Scope.CATEGORY, event.getCategory(), day), event.getCustomerId());
+        }
+        add(new SketchKey(CustomerSketch.Scope.STORE, STORE_KEY, day), event.getCustomerId());
+    }
+
+    private void add(SketchKey key, long customerId) {
+        if (sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(customerId)) {
+            dirty.add(key);
+        }
+    }
+
+    private record SketchKey(CustomerSketch.Scope scope, String key, LocalDate day) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.dto.TransactionDTO;
+import com.inventory.entity.IdempotencyRecord;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.IdempotencyRecordRepository;
+import com.inventory.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST /api/transactions safe to retry. Keys are reserved in the durable
+ * idempotency_keys table inside the checkout transaction, so a concurrent retry blocks
+ * on the unique key and then replays the first result. Completed results are also held
+ * in a size- and TTL-bounded cache so most retries never reach the database.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionRepository transactionRepository;
+    private final Cache<String, CompletedRequest> completed;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              TransactionRepository transactionRepository,
+                              @Value("${inventory.idempotency.cache-size:10000}") long cacheSize,
+                              @Value("${inventory.idempotency.cache-ttl-minutes:10}") long cacheTtlMinutes,
+                              @Value("${inventory.idempotency.retention-hours:24}") long retentionHours) {
+        this.recordRepository = recordRepository;
+        this.transactionRepository = transactionRepository;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    public TransactionDTO execute(String key, CreateTransactionRequest request, Supplier<TransactionDTO> action) {
+        if (key == null) {
+            return action.get();
+        }
+        validateKey(key);
+        String fingerprint = fingerprint(request);
+        Optional<TransactionDTO> replay = findCompleted(key, fingerprint);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+        try {
+            return action.get();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request with the same key committed first.
+            return findCompleted(key, fingerprint).orElseThrow(() -> ex);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public IdempotencyRecord reserve(String key, CreateTransactionRequest request) {
+        validateKey(key);
+        return recordRepository.saveAndFlush(IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(fingerprint(request))
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(IdempotencyRecord record, TransactionDTO result) {
+        record.setTransactionId(result.getId());
+        CompletedRequest entry = new CompletedRequest(record.getRequestHash(), result);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completed.put(record.getIdempotencyKey(), entry);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        recordRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    private Optional<TransactionDTO> findCompleted(String key, String fingerprint) {
+        CompletedRequest cached = completed.getIfPresent(key);
+        if (cached == null) {
+            cached = recordRepository.findByIdempotencyKey(key)
+                    .filter(record -> record.getTransactionId() != null)
+                    .flatMap(record -> transactionRepository.findDtoById(record.getTransactionId())
+                            .map(dto -> new CompletedRequest(record.getRequestHash(), dto)))
+                    .orElse(null);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            completed.put(key, cached);
+        }
+        if (!cached.fingerprint().equals(fingerprint)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        return Optional.of(cached.result());
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static String fingerprint(CreateTransactionRequest request) {
+        String canonical = request.getCustomerId() + "|" + request.getItemId() + "|" + request.getQuantity();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record CompletedRequest(String fingerprint, TransactionDTO result) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.service;
+
+import com.inventory.dto.BulkInventoryUpdateRequest;
+import com.inventory.dto.BulkUpdateReport;
+import com.inventory.dto.InventoryPatchRequest;
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.ledger.StockMovementType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies many price/quantity patches in one transaction. The affected rows are locked
+ * and read once, the changes go out as a single JDBC batch, and one
+ * {@link InventoryBatchUpdatedEvent} is published for the whole request.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryBulkUpdateService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlottedStockService slottedStock;
+
+    @Transactional
+    public BulkUpdateReport applyUpdates(BulkInventoryUpdateRequest request) {
+        Set<Long> ids = new HashSet<>();
+        for (InventoryPatchRequest patch : request.getUpdates()) {
+            if (!ids.add(patch.getId())) {
+                throw new BadRequestException("Item " + patch.getId() + " appears more than once");
+            }
+            if (patch.getQuantity() == null && patch.getPrice() == null) {
+                throw new BadRequestException("Item " + patch.getId() + " has neither quantity nor price to update");
+            }
+        }
+
+        // Locked so the quantity deltas recorded for the ledger match what this batch overwrites.
+        // Slots go first, matching the lock order used by checkouts on slotted items.
+        Map<Long, Integer> slotTotals = slottedStock.lockTotals(ids);
+        Map<Long, long[]> current = new HashMap<>();
+        jdbcTemplate.query("SELECT id, quantity, version FROM inventory_stock WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    long id = rs.getLong("id");
+                    current.put(id, new long[]{slotTotals.getOrDefault(id, rs.getInt("quantity")), rs.getLong("version")});
+                });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        BulkUpdateReport report = new BulkUpdateReport();
+        List<SqlParameterSource> updates = new ArrayList<>();
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        List<StockMovementEvent> movements = new ArrayList<>();
+        for (InventoryPatchRequest patch : request.getUpdates()) {
+            long[] row = current.get(patch.getId());
+            if (row == null) {
+                report.getResults().add(new BulkUpdateReport.ItemResult(patch.getId(), BulkUpdateReport.Status.NOT_FOUND, null));
+                continue;
+            }
+            if (patch.getExpectedVersion() != null && patch.getExpectedVersion() != row[1]) {
+                report.getResults().add(new BulkUpdateReport.ItemResult(patch.getId(), BulkUpdateReport.Status.VERSION_CONFLICT, row[1]));
+                continue;
+            }
+            updates.add(new MapSqlParameterSource()
+                    .addValue("id", patch.getId())
+                    .addValue("quantity", patch.getQuantity(), Types.INTEGER)
+                    .addValue("price", patch.getPrice(), Types.DECIMAL)
+                    .addValue("updatedDate", now));
+            updatedIds.add(patch.getId());
+            if (patch.getQuantity() != null && patch.getQuantity() != row[0]) {
+                movements.add(new StockMovementEvent(patch.getId(), StockMovementType.ADJUSTMENT, (int) (patch.getQuantity() - row[0])));
+            }
+            report.getResults().add(new BulkUpdateReport.ItemResult(patch.getId(), BulkUpdateReport.Status.UPDATED, row[1] + 1));
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE inventory_stock SET quantity = COALESCE(:quantity, quantity), price = COALESCE(:price, price), " +
+                            "updated_date = :updatedDate, version = version + 1 WHERE id = :id",
+                    updates.toArray(SqlParameterSource[]::new));
+            for (InventoryPatchRequest patch : request.getUpdates()) {
+                if (patch.getQuantity() != null && slotTotals.containsKey(patch.getId()) && updatedIds.contains(patch.getId())) {
+                    slottedStock.redistribute(patch.getId(), patch.getQuantity());
+                }
+            }
+            eventPublisher.publishEvent(new InventoryBatchUpdatedEvent(new ArrayList<>(updatedIds), movements));
+        }
+        report.setUpdated(updates.size());
+        report.setFailed(request.getUpdates().size() - updates.size());
+        return report;
+    }
+}
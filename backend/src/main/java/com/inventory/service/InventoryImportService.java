@@ -0,0 +1,321 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.ImportReport;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.ledger.StockMovementType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads supplier catalogues without going through the per-item API. The upload is
+ * parsed as a stream, each row is validated against {@link CreateInventoryRequest},
+ * and valid rows are upserted by item name in JDBC batches, one transaction per batch.
+ * Item names are unique, so a name inserted concurrently by another import or by
+ * {@code createItem} fails the batch on the key; the batch is then run again, finding
+ * that row and updating it. A batch the database still rejects is retried row by row,
+ * so only the offending rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryImportService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlottedStockService slottedStock;
+    private final DashboardStatsTracker dashboardStats;
+
+    @Value("${inventory.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    public ImportReport importItems(InputStream input, String format, Integer batchSize) throws IOException {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        ImportReport report = new ImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Batch batch = new Batch(size);
+        switch (format.toLowerCase()) {
+            case "csv" -> readCsv(reader, batch, report);
+            case "ndjson" -> readNdjson(reader, batch, report);
+            default -> throw new BadRequestException("Format must be one of: csv, ndjson");
+        }
+        batch.flush(report);
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch, ImportReport report) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("itemname")) {
+            throw new BadRequestException("CSV header must contain an itemName column");
+        }
+        long rowNumber = 1;
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            rowNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            try {
+                CreateInventoryRequest row = new CreateInventoryRequest(
+                        field(record, columns, "itemname"),
+                        parse(field(record, columns, "quantity"), Integer::valueOf, "quantity"),
+                        field(record, columns, "category"),
+                        parse(field(record, columns, "price"), BigDecimal::new, "price"),
+                        field(record, columns, "description"));
+                accept(rowNumber, row, batch, report);
+            } catch (IllegalArgumentException ex) {
+                reject(report, rowNumber, ex.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch, ImportReport report) throws IOException {
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            try {
+                accept(rowNumber, objectMapper.readValue(line, CreateInventoryRequest.class), batch, report);
+            } catch (JsonProcessingException ex) {
+                reject(report, rowNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void accept(long rowNumber, CreateInventoryRequest row, Batch batch, ImportReport report) {
+        Set<ConstraintViolation<CreateInventoryRequest>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            reject(report, rowNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            reject(report, rowNumber, "Category is required");
+            return;
+        }
+        batch.add(rowNumber, row, report);
+    }
+
+    private static void reject(ImportReport report, long rowNumber, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(rowNumber, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private class Batch {
+        private final int capacity;
+        private final List<Long> rowNumbers;
+        private final Map<String, Integer> positionByName;
+        private final List<CreateInventoryRequest> rows;
+
+        Batch(int capacity) {
+            this.capacity = capacity;
+            this.rowNumbers = new ArrayList<>(capacity);
+            this.positionByName = new HashMap<>(capacity * 2);
+            this.rows = new ArrayList<>(capacity);
+        }
+
+        void add(long rowNumber, CreateInventoryRequest row, ImportReport report) {
+            // A later row for the same item within one batch replaces the earlier one.
+            Integer existing = positionByName.get(row.getItemName());
+            if (existing != null) {
+                rows.set(existing, row);
+                rowNumbers.set(existing, rowNumber);
+                report.setUpdated(report.getUpdated() + 1);
+                return;
+            }
+            positionByName.put(row.getItemName(), rows.size());
+            rows.add(row);
+            rowNumbers.add(rowNumber);
+            if (rows.size() >= capacity) {
+                flush(report);
+            }
+        }
+
+        void flush(ImportReport report) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                count(report, writeRetryingDuplicates(rows));
+            } catch (DataAccessException ex) {
+                // Retry one row per transaction so only the rows the database refuses are reported.
+                for (int i = 0; i < rows.size(); i++) {
+                    List<CreateInventoryRequest> single = List.of(rows.get(i));
+                    try {
+                        count(report, writeRetryingDuplicates(single));
+                    } catch (DataAccessException rowEx) {
+                        reject(report, rowNumbers.get(i), "Rejected by the database: " + rowEx.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            rows.clear();
+            rowNumbers.clear();
+            positionByName.clear();
+        }
+
+        private void count(ImportReport report, int[] outcome) {
+            report.setCreated(report.getCreated() + outcome[0]);
+            report.setUpdated(report.getUpdated() + outcome[1]);
+        }
+    }
+
+    private int[] writeRetryingDuplicates(List<CreateInventoryRequest> rows) {
+        try {
+            return transactionTemplate.execute(status -> write(rows));
+        } catch (DuplicateKeyException ex) {
+            // Another writer inserted one of these names since the batch looked; it is an update now.
+            return transactionTemplate.execute(status -> write(rows));
+        }
+    }
+
+    private int[] write(List<CreateInventoryRequest> rows) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM inventory_stock WHERE item_name IN (:names)",
+                new MapSqlParameterSource("names", names(rows)), Long.class);
+        // Slotted items keep their stock in the slots; lock those first, as the slot service does.
+        Map<Long, Integer> slotTotals = slottedStock.lockTotals(ids);
+        // Then lock the rows themselves in id order, so the quantities read here are the ones overwritten.
+        Map<String, long[]> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query("SELECT id, item_name, quantity FROM inventory_stock WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                    new MapSqlParameterSource("ids", ids),
+                    rs -> {
+                        existing.putIfAbsent(rs.getString("item_name"), new long[]{rs.getLong("id"), rs.getLong("quantity")});
+                    });
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CreateInventoryRequest> inserted = new ArrayList<>();
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        List<SqlParameterSource> updates = new ArrayList<>();
+        for (CreateInventoryRequest row : rows) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("itemName", row.getItemName())
+                    .addValue("quantity", row.getQuantity())
+                    .addValue("category", row.getCategory())
+                    .addValue("price", row.getPrice())
+                    .addValue("description", row.getDescription())
+                    .addValue("updatedDate", now);
+            long[] current = existing.get(row.getItemName());
+            if (current == null) {
+                inserted.add(row);
+                inserts.add(params);
+            } else {
+                updates.add(params.addValue("id", current[0]));
+                int delta = row.getQuantity() - slotTotals.getOrDefault(current[0], (int) current[1]);
+                if (delta != 0) {
+                    eventPublisher.publishEvent(new StockMovementEvent(current[0], StockMovementType.ADJUSTMENT, delta));
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO inventory_stock (item_name, quantity, category, price, description, updated_date, version) " +
+                            "VALUES (:itemName, :quantity, :category, :price, :description, :updatedDate, 0)",
+                    inserts.toArray(SqlParameterSource[]::new));
+            dashboardStats.itemsChanged(inserts.size());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE inventory_stock SET quantity = :quantity, category = :category, price = :price, " +
+                            "description = COALESCE(:description, description), updated_date = :updatedDate, version = version + 1 WHERE id = :id",
+                    updates.toArray(SqlParameterSource[]::new));
+            for (CreateInventoryRequest row : rows) {
+                long[] current = existing.get(row.getItemName());
+                if (current != null && slotTotals.containsKey(current[0])) {
+                    slottedStock.redistribute(current[0], row.getQuantity());
+                }
+            }
+        }
+        // Re-read the written rows so listeners see generated ids and any description kept by COALESCE.
+        Map<String, Integer> insertedQuantities = new HashMap<>();
+        inserted.forEach(row -> insertedQuantities.put(row.getItemName(), row.getQuantity()));
+        jdbcTemplate.query("SELECT id, item_name, quantity, category, price, description FROM inventory_stock WHERE item_name IN (:names)",
+                new MapSqlParameterSource("names", names(rows)),
+                rs -> {
+                    long id = rs.getLong("id");
+                    Integer quantity = insertedQuantities.remove(rs.getString("item_name"));
+                    if (quantity != null && quantity != 0) {
+                        eventPublisher.publishEvent(new StockMovementEvent(id, StockMovementType.RESTOCK, quantity));
+                    }
+                    eventPublisher.publishEvent(new InventoryItemChangedEvent(id, rs.getString("item_name"),
+                            rs.getString("category"), rs.getString("description"), rs.getInt("quantity"),
+                            rs.getBigDecimal("price"), false));
+                });
+        return new int[]{inserts.size(), updates.size()};
+    }
+
+    private static List<String> names(List<CreateInventoryRequest> rows) {
+        return rows.stream().map(CreateInventoryRequest::getItemName).toList();
+    }
+}
@@ -2,21 +2,67 @@ package com.inventory.service;
 
 import com.inventory.dto.*;
 import com.inventory.entity.InventoryStock;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.PreconditionFailedException;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.ledger.LongLongMap;
+import com.inventory.ledger.StockLedger;
+import com.inventory.ledger.StockMovementType;
 import com.inventory.repository.InventoryStockRepository;
+import com.inventory.repository.InventoryStockSpecifications;
+import com.inventory.search.InventorySearchIndex;
+import com.inventory.sketch.SpaceSaving;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryStockService {
 
+    public static final int MAX_SEARCH_RESULTS = 200;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_FORECAST_DAYS = 365;
+    public static final int MAX_TOP_SELLERS = 100;
+    private static final List<String> SORTABLE_PROPERTIES =
+            List.of("id", "itemName", "category", "quantity", "price", "updatedDate");
+
     private final InventoryStockRepository inventoryRepository;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventorySearchIndex searchIndex;
+    private final LowStockTracker lowStockTracker;
+    private final LookupCache lookupCache;
+    private final SlottedStockService slottedStock;
+    private final DemandForecaster demandForecaster;
+    private final DashboardStatsTracker dashboardStats;
+    private final TopSellersTracker topSellers;
 
+    @Transactional
     public InventoryStockDTO createItem(CreateInventoryRequest request) {
+        if (inventoryRepository.existsByItemName(request.getItemName())) {
+            throw new BadRequestException("Item name already exists");
+        }
         InventoryStock item = InventoryStock.builder()
                 .itemName(request.getItemName())
                 .quantity(request.getQuantity())
@@ -25,53 +71,135 @@ public class InventoryStockService {
                 .description(request.getDescription())
                 .build();
 
-        return InventoryStockDTO.fromEntity(inventoryRepository.save(item));
+        InventoryStock saved = inventoryRepository.save(item);
+        if (saved.getQuantity() != 0) {
+            eventPublisher.publishEvent(new StockMovementEvent(saved.getId(), StockMovementType.RESTOCK, saved.getQuantity()));
+        }
+        eventPublisher.publishEvent(InventoryItemChangedEvent.of(saved));
+        dashboardStats.itemsChanged(1);
+        return InventoryStockDTO.fromEntity(saved);
     }
 
-    public InventoryStockDTO updateItem(@org.springframework.lang.NonNull Long id, CreateInventoryRequest request) {
+    /** Applies the update only if the item is still at {@code expectedVersion}, when one is given. */
+    @Transactional
+    public InventoryStockDTO updateItem(@org.springframework.lang.NonNull Long id, CreateInventoryRequest request, Long expectedVersion) {
         InventoryStock item = inventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new PreconditionFailedException("Item " + id + " has changed; current version is " + item.getVersion());
+        }
 
-        if (request.getItemName() != null) item.setItemName(request.getItemName());
-        if (request.getQuantity() != null) item.setQuantity(request.getQuantity());
+        // Slotted items keep their stock in the slots; lock them before the row is written.
+        boolean slotted = item.getSlotCount() != null;
+        int currentQuantity = slotted
+                ? slottedStock.lockTotals(List.of(id)).getOrDefault(id, item.getQuantity())
+                : item.getQuantity();
+
+        if (request.getItemName() != null) {
+            if (!item.getItemName().equals(request.getItemName()) && inventoryRepository.existsByItemName(request.getItemName())) {
+                throw new BadRequestException("Item name already exists");
+            }
+            item.setItemName(request.getItemName());
+        }
+        if (request.getQuantity() != null) {
+            int delta = request.getQuantity() - currentQuantity;
+            if (delta != 0) {
+                eventPublisher.publishEvent(new StockMovementEvent(id, StockMovementType.ADJUSTMENT, delta));
+            }
+            item.setQuantity(request.getQuantity());
+        }
         if (request.getCategory() != null) item.setCategory(request.getCategory());
         if (request.getPrice() != null) item.setPrice(request.getPrice());
         if (request.getDescription() != null) item.setDescription(request.getDescription());
 
-        return InventoryStockDTO.fromEntity(inventoryRepository.save(item));
+        // Flushed so the returned DTO carries the incremented version.
+        InventoryStock saved = inventoryRepository.saveAndFlush(item);
+        if (slotted && request.getQuantity() != null) {
+            slottedStock.redistribute(id, request.getQuantity());
+        }
+        eventPublisher.publishEvent(InventoryItemChangedEvent.of(saved));
+        return InventoryStockDTO.fromEntity(saved);
     }
 
+    @Transactional
     public void deleteItem(Long id) {
-        if (id == null || !inventoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Item not found with id: " + id);
+        InventoryStock item = (id == null ? Optional.<InventoryStock>empty() : inventoryRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+        int quantity = item.getQuantity();
+        if (item.getSlotCount() != null) {
+            quantity = slottedStock.lockTotals(List.of(id)).getOrDefault(id, quantity);
+            slottedStock.deleteSlots(id);
+        }
+        inventoryRepository.delete(item);
+        if (quantity != 0) {
+            eventPublisher.publishEvent(new StockMovementEvent(id, StockMovementType.ADJUSTMENT, -quantity));
         }
-        inventoryRepository.deleteById(id);
+        eventPublisher.publishEvent(InventoryItemChangedEvent.deleted(id));
+        dashboardStats.itemsChanged(-1);
     }
 
     public InventoryStockDTO getItemById(Long id) {
         if (id == null) {
             throw new ResourceNotFoundException("Item id cannot be null");
         }
-        return inventoryRepository.findById(id)
-                .map(InventoryStockDTO::fromEntity)
+        return lookupCache.findItem(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
     }
 
-    public List<InventoryStockDTO> getAllItems() {
-        return inventoryRepository.findAll().stream()
-                .map(InventoryStockDTO::fromEntity)
-                .collect(Collectors.toList());
+    public Page<InventoryStockDTO> findItems(String category, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                             LocalDateTime updatedSince, int page, int size, String sort) {
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not exceed maxPrice");
+        }
+        Specification<InventoryStock> filter = Specification.allOf(
+                InventoryStockSpecifications.inCategory(category),
+                InventoryStockSpecifications.priceAtLeast(minPrice),
+                InventoryStockSpecifications.priceAtMost(maxPrice),
+                InventoryStockSpecifications.inStock(inStock),
+                InventoryStockSpecifications.updatedSince(updatedSince));
+        return inventoryRepository.findAll(filter, PageRequest.of(page, size, parseSort(sort)))
+                .map(InventoryStockDTO::fromEntity);
     }
 
-    public List<InventoryStockDTO> getItemsByCategory(String category) {
-        return inventoryRepository.findByCategory(category).stream()
-                .map(InventoryStockDTO::fromEntity)
-                .collect(Collectors.toList());
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new BadRequestException("Sort must be one of: " + String.join(", ", SORTABLE_PROPERTIES));
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new BadRequestException("Sort direction must be asc or desc"));
+        }
+        // The id tiebreaker keeps pages stable when many rows share the sort value.
+        return Sort.by(direction, property).and(Sort.by("id"));
+    }
+
+    public List<InventoryItemSummary> getItemsByCategory(String category) {
+        return inventoryRepository.findSummariesByCategory(category);
     }
 
-    public List<InventoryStockDTO> searchItems(String query) {
+    public List<InventoryStockDTO> searchItems(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (searchIndex.isReady()) {
+            return findAllInOrder(searchIndex.search(query, limit));
+        }
+        // Still warming up: fall back to the substring scan.
         return inventoryRepository.findByItemNameContainingIgnoreCase(query).stream()
                 .map(InventoryStockDTO::fromEntity)
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
@@ -80,24 +208,100 @@ public class InventoryStockService {
     }
 
     public List<InventoryStockDTO> getLowStockItems(int threshold) {
-        return inventoryRepository.findByQuantityLessThan(threshold).stream()
-                .map(InventoryStockDTO::fromEntity)
+        return findAllInOrder(lowStockTracker.itemsBelow(threshold));
+    }
+
+    public List<StockForecast> getForecast(int horizonDays) {
+        validateHorizon(horizonDays);
+        return demandForecaster.forecast(lowStockTracker.currentQuantities(), horizonDays);
+    }
+
+    /** Items expected to sell out within the horizon, soonest first. */
+    public List<StockForecast> getReorderList(int horizonDays, int limit) {
+        validateHorizon(horizonDays);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return demandForecaster.forecast(lowStockTracker.currentQuantities(), horizonDays).stream()
+                .filter(forecast -> forecast.getReorderQuantity() > 0)
+                .sorted(Comparator.comparingDouble(StockForecast::getDaysUntilStockOut))
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
-    public List<InventoryStockDTO> getAvailableItems() {
-        return inventoryRepository.findAvailableItems().stream()
+    public List<TopItem> getTopSellers(int n, String window) {
+        if (n < 1 || n > Math.min(MAX_TOP_SELLERS, topSellers.capacity())) {
+            throw new BadRequestException("n must be between 1 and " + Math.min(MAX_TOP_SELLERS, topSellers.capacity()));
+        }
+        List<SpaceSaving.Counter> top = topSellers.top(TopSellersTracker.Window.parse(window), n);
+        Map<Long, InventoryStock> items = inventoryRepository.findAllById(top.stream().map(SpaceSaving.Counter::key).toList())
+                .stream()
+                .collect(Collectors.toMap(InventoryStock::getId, Function.identity()));
+        return top.stream()
+                .filter(counter -> items.containsKey(counter.key()))
+                .map(counter -> {
+                    InventoryStock item = items.get(counter.key());
+                    return new TopItem(item.getId(), item.getItemName(), item.getCategory(), counter.count(), counter.error());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static void validateHorizon(int horizonDays) {
+        if (horizonDays < 1 || horizonDays > MAX_FORECAST_DAYS) {
+            throw new BadRequestException("horizonDays must be between 1 and " + MAX_FORECAST_DAYS);
+        }
+    }
+
+    public List<InventoryItemSummary> getAvailableItems() {
+        return inventoryRepository.findAvailableSummaries();
+    }
+
+    private List<InventoryStockDTO> findAllInOrder(List<Long> ids) {
+        Map<Long, InventoryStock> items = inventoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(InventoryStock::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(InventoryStockDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void updateStock(Long id, int quantityChange) {
         if (id == null) {
             throw new ResourceNotFoundException("Item id cannot be null");
         }
-        InventoryStock item = inventoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
-        item.setQuantity(item.getQuantity() + quantityChange);
-        inventoryRepository.save(item);
+        if (!slottedStock.adjust(id, quantityChange)) {
+            InventoryStock item = inventoryRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+            throw new BadRequestException("Insufficient stock. Available: " + slottedStock.currentQuantity(item));
+        }
+        StockMovementType type = quantityChange > 0 ? StockMovementType.RESTOCK : StockMovementType.ADJUSTMENT;
+        eventPublisher.publishEvent(new StockMovementEvent(id, type, quantityChange));
+        slottedStock.currentLevels(List.of(id)).forEach(level ->
+                eventPublisher.publishEvent(new StockLevelChangedEvent(level.getItemId(), level.getQuantity())));
+    }
+
+    public InventoryStockDTO setSlotCount(Long id, int count) {
+        return InventoryStockDTO.fromEntity(slottedStock.setSlotCount(id, count));
+    }
+
+    public InventoryStockDTO disableSlots(Long id) {
+        return InventoryStockDTO.fromEntity(slottedStock.disable(id));
+    }
+
+    public Map<Long, Long> getQuantitiesAsOf(LocalDateTime asOf, Long itemId) {
+        if (itemId != null && itemId <= 0) {
+            throw new BadRequestException("Item id must be positive");
+        }
+        long epochMillis = asOf.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        LongLongMap quantities = stockLedger.quantitiesAsOf(epochMillis);
+        Map<Long, Long> result = new TreeMap<>();
+        if (itemId != null) {
+            result.put(itemId, quantities.get(itemId, 0));
+        } else {
+            quantities.forEach(result::put);
+        }
+        return result;
     }
 }
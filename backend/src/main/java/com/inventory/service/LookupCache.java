@@ -0,0 +1,138 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory.dto.CacheStatsDTO;
+import com.inventory.dto.InventoryStockDTO;
+import com.inventory.entity.Customer;
+import com.inventory.entity.InventoryStock;
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.repository.InventoryStockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded read-through caches (Caffeine, W-TinyLFU eviction) for the lookups that hit
+ * the same few rows over and over: items and customers by id. Entries are evicted after
+ * the owning write commits; the TTL bounds how long a read that raced a commit can keep
+ * serving the older row.
+ *
+ * <p>Cached entities are detached and shared, so they are only for reading. Mutators
+ * must load their own copy from the repository, and checkout stock is always taken
+ * from the conditional UPDATE, never from here. Customers are cached without their PIN
+ * hash, and logins are not cached at all: bcrypt costs far more than the lookup.
+ */
+@Component
+public class LookupCache {
+
+    private final InventoryStockRepository inventoryRepository;
+    private final CustomerRepository customerRepository;
+    private final SlottedStockService slottedStock;
+
+    private final Cache<Long, InventoryStockDTO> items;
+    private final Cache<Long, Customer> customersById;
+
+    public LookupCache(InventoryStockRepository inventoryRepository,
+                       CustomerRepository customerRepository,
+                       SlottedStockService slottedStock,
+                       @Value("${inventory.cache.items.max-size:10000}") long itemsMaxSize,
+                       @Value("${inventory.cache.items.ttl-seconds:30}") long itemsTtlSeconds,
+                       @Value("${inventory.cache.users.max-size:10000}") long usersMaxSize,
+                       @Value("${inventory.cache.users.ttl-seconds:300}") long usersTtlSeconds) {
+        this.inventoryRepository = inventoryRepository;
+        this.customerRepository = customerRepository;
+        this.slottedStock = slottedStock;
+        this.items = build(itemsMaxSize, itemsTtlSeconds);
+        this.customersById = build(usersMaxSize, usersTtlSeconds);
+    }
+
+    private static <K, V> Cache<K, V> build(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Misses that find nothing are not cached, so a newly created row is visible at once.
+
+    public Optional<InventoryStockDTO> findItem(Long id) {
+        return Optional.ofNullable(items.get(id, key -> inventoryRepository.findById(key).map(this::toDto).orElse(null)));
+    }
+
+    // Slotted items report the slot total rather than the lagging mirror on the row.
+    private InventoryStockDTO toDto(InventoryStock item) {
+        InventoryStockDTO dto = InventoryStockDTO.fromEntity(item);
+        dto.setQuantity(slottedStock.currentQuantity(item));
+        return dto;
+    }
+
+    public Optional<Customer> findCustomer(Long id) {
+        return Optional.ofNullable(customersById.get(id, key -> customerRepository.findById(key).map(LookupCache::withoutPin).orElse(null)));
+    }
+
+    private static Customer withoutPin(Customer customer) {
+        return Customer.builder()
+                .id(customer.getId())
+                .name(customer.getName())
+                .email(customer.getEmail())
+                .phoneNumber(customer.getPhoneNumber())
+                .createdDate(customer.getCreatedDate())
+                .build();
+    }
+
+    /** Evicts now and again once the current transaction commits, so a racing read cannot re-cache the old row. */
+    public void evictCustomer(Long id) {
+        customersById.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    customersById.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        items.invalidate(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        items.invalidate(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onBatchUpdated(InventoryBatchUpdatedEvent event) {
+        items.invalidateAll(event.getItemIds());
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return List.of(stats("items", items), stats("customersById", customersById));
+    }
+
+    private static CacheStatsDTO stats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.inventory.service;
+
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.ReorderThresholdCrossedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.repository.StockLevelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+/**
+ * Quantity-ordered view of the catalogue, advanced by every committed stock movement
+ * and loaded from the table at startup and on a schedule through a {@link CommitFence},
+ * so movements racing a load are neither lost nor counted twice. Items are listed below a
+ * threshold by walking an ordered set, and counted with a Fenwick tree over quantities
+ * up to {@link #INDEXED_QUANTITIES}; larger thresholds fall back to walking the set.
+ *
+ * <p>Publishes a {@link ReorderThresholdCrossedEvent} whenever a movement takes an item
+ * across {@code inventory.low-stock.reorder-threshold} in either direction.
+ */
+@Slf4j
+@Component
+public class LowStockTracker {
+
+    static final int INDEXED_QUANTITIES = 1 << 16;
+
+    private final StockLevelRepository stockLevelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int reorderThreshold;
+    private final CommitFence<Object> fence;
+
+    private Map<Long, Integer> quantities = new HashMap<>();
+    private NavigableSet<Entry> ordered = new TreeSet<>();
+    private int[] counts = new int[INDEXED_QUANTITIES + 1];
+
+    public LowStockTracker(StockLevelRepository stockLevelRepository, JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.low-stock.reorder-threshold:10}") int reorderThreshold) {
+        this.stockLevelRepository = stockLevelRepository;
+        this.eventPublisher = eventPublisher;
+        this.reorderThreshold = reorderThreshold;
+        this.fence = new CommitFence<>(this, this::apply, jdbcTemplate, transactionManager);
+    }
+
+    /** Ids of items with quantity below {@code threshold}, lowest quantity first. */
+    public synchronized List<Long> itemsBelow(int threshold) {
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : ordered.headSet(new Entry(threshold, Long.MIN_VALUE), false)) {
+            ids.add(entry.itemId);
+        }
+        return ids;
+    }
+
+    /** Copy of the tracked quantity of every item. */
+    public synchronized Map<Long, Integer> currentQuantities() {
+        return new HashMap<>(quantities);
+    }
+
+    public synchronized int countBelow(int threshold) {
+        if (threshold <= 0) {
+            return 0;
+        }
+        if (threshold > INDEXED_QUANTITIES) {
+            return ordered.headSet(new Entry(threshold, Long.MIN_VALUE), false).size();
+        }
+        // Fenwick prefix sum over quantities 0 .. threshold - 1, stored at indexes 1 .. threshold.
+        int count = 0;
+        for (int i = threshold; i > 0; i -= i & -i) {
+            count += counts[i];
+        }
+        return count;
+    }
+
+    // The listeners run inside the writing transaction; the fence applies each change once it commits.
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        fence.record(event);
+    }
+
+    @EventListener
+    public void onStockMovement(StockMovementEvent event) {
+        fence.record(event);
+    }
+
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        fence.record(event);
+    }
+
+    @EventListener
+    public void onBatchUpdated(InventoryBatchUpdatedEvent event) {
+        fence.record(event);
+    }
+
+    private void apply(Object change) {
+        switch (change) {
+            case TransactionCreatedEvent sale -> move(sale.getItemId(), -sale.getQuantity());
+            case StockMovementEvent movement -> move(movement.getItemId(), movement.getDelta());
+            case InventoryBatchUpdatedEvent batch ->
+                    batch.getMovements().forEach(movement -> move(movement.getItemId(), movement.getDelta()));
+            case InventoryItemChangedEvent item -> itemChanged(item);
+            default -> throw new IllegalArgumentException("Unexpected stock change: " + change);
+        }
+    }
+
+    private void itemChanged(InventoryItemChangedEvent event) {
+        if (event.isDeleted()) {
+            Integer quantity = quantities.remove(event.getItemId());
+            if (quantity != null) {
+                unindex(event.getItemId(), quantity);
+            }
+        } else if (!quantities.containsKey(event.getItemId())) {
+            // Quantity changes arrive as movements; this only registers items created since the last load.
+            int quantity = Math.max(0, event.getQuantity());
+            quantities.put(event.getItemId(), quantity);
+            index(event.getItemId(), quantity);
+            if (quantity < reorderThreshold) {
+                notify(new ReorderThresholdCrossedEvent(event.getItemId(), quantity, reorderThreshold, true));
+            }
+        }
+    }
+
+    private void move(long itemId, int delta) {
+        Integer previous = quantities.get(itemId);
+        if (previous == null) {
+            // Not registered yet: a new item's opening movement precedes its change event, which registers it.
+            return;
+        }
+        int before = previous;
+        int after = Math.max(0, before + delta);
+        unindex(itemId, before);
+        quantities.put(itemId, after);
+        index(itemId, after);
+        boolean wasBelow = before < reorderThreshold;
+        boolean isBelow = after < reorderThreshold;
+        if (wasBelow != isBelow) {
+            notify(new ReorderThresholdCrossedEvent(itemId, after, reorderThreshold, isBelow));
+        }
+    }
+
+    private void notify(ReorderThresholdCrossedEvent crossed) {
+        if (crossed.isBelowThreshold()) {
+            log.info("Item {} fell below the reorder threshold of {} (quantity {})",
+                    crossed.getItemId(), crossed.getThreshold(), crossed.getQuantity());
+        }
+        eventPublisher.publishEvent(crossed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.low-stock.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventory.low-stock.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        fence.load(() -> {
+            Map<Long, Integer> persisted = new HashMap<>();
+            stockLevelRepository.forEachLevel((itemId, quantity) -> persisted.put(itemId, Math.max(0, quantity)));
+            return persisted;
+        }, persisted -> {
+            if (fence.isLoaded() && !persisted.equals(quantities)) {
+                log.warn("Low-stock index drifted from the database; rebuilt from {} items", persisted.size());
+            }
+            quantities = persisted;
+            ordered = new TreeSet<>();
+            counts = new int[INDEXED_QUANTITIES + 1];
+            persisted.forEach(this::index);
+        });
+    }
+
+    private void index(long itemId, int quantity) {
+        ordered.add(new Entry(quantity, itemId));
+        adjustCount(quantity, 1);
+    }
+
+    private void unindex(long itemId, int quantity) {
+        ordered.remove(new Entry(quantity, itemId));
+        adjustCount(quantity, -1);
+    }
+
+    private void adjustCount(int quantity, int change) {
+        if (quantity >= INDEXED_QUANTITIES) {
+            return;
+        }
+        for (int i = quantity + 1; i <= INDEXED_QUANTITIES; i += i & -i) {
+            counts[i] += change;
+        }
+    }
+
+    private record Entry(int quantity, long itemId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byQuantity = Integer.compare(quantity, other.quantity);
+            return byQuantity != 0 ? byQuantity : Long.compare(itemId, other.itemId);
+        }
+    }
+}
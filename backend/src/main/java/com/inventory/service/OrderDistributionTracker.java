@@ -0,0 +1,150 @@
+package com.inventory.service;
+
+import com.inventory.dto.OrderDistribution;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.TransactionRepository;
+import com.inventory.sketch.LogLinearHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Distributions of order value and quantity per category and day, held in
+ * {@link LogLinearHistogram}s. Sales are recorded as they commit; a report merges the
+ * days and categories it covers, so percentiles never touch the transactions table.
+ * The retention window is rebuilt from history at startup.
+ */
+@Slf4j
+@Component
+public class OrderDistributionTracker {
+
+    private static final String UNCATEGORIZED = "";
+
+    private final TransactionRepository transactionRepository;
+    private final int retentionDays;
+
+    private final Map<BucketKey, Histograms> buckets = new HashMap<>();
+
+    private final TransactionHistoryReader.Feed feed;
+
+    public OrderDistributionTracker(TransactionRepository transactionRepository,
+                                    TransactionHistoryReader historyReader,
+                                    @Value("${inventory.order-histograms.retention-days:90}") int retentionDays) {
+        this.transactionRepository = transactionRepository;
+        this.retentionDays = retentionDays;
+        this.feed = historyReader.feed(this, this::record).replayAfter(this::replayStart).onReplayed(this::rebuilt);
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        feed.offer(event);
+    }
+
+    private long replayStart() {
+        // With no sale inside the window yet, replaying past every id just takes the feed live.
+        Long firstId = transactionRepository.findFirstIdCreatedSince(cutoff().atStartOfDay());
+        return firstId != null ? firstId - 1 : Long.MAX_VALUE;
+    }
+
+    private synchronized void rebuilt(long replayed) {
+        log.info("Order histograms rebuilt for {} category-days", buckets.size());
+    }
+
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+    public synchronized void prune() {
+        LocalDate cutoff = cutoff();
+        buckets.keySet().removeIf(key -> key.day.isBefore(cutoff));
+    }
+
+    /** Distribution over the date range, inclusive, for one category or all of them; defaults to the last 30 days. */
+    public OrderDistribution report(String category, LocalDate from, LocalDate to) {
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = to.minusDays(29);
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (from.isBefore(cutoff())) {
+            throw new BadRequestException("Order histograms are kept for the last " + retentionDays + " days");
+        }
+
+        Histograms merged = new Histograms();
+        synchronized (this) {
+            for (Map.Entry<BucketKey, Histograms> entry : buckets.entrySet()) {
+                BucketKey key = entry.getKey();
+                if ((category == null || category.equals(key.category))
+                        && !key.day.isBefore(from) && !key.day.isAfter(to)) {
+                    merged.merge(entry.getValue());
+                }
+            }
+        }
+        return OrderDistribution.builder()
+                .category(category)
+                .from(from)
+                .to(to)
+                .orders(merged.valueCents.totalCount())
+                .relativeError(LogLinearHistogram.RELATIVE_ERROR)
+                .orderValue(summarize(merged.valueCents, 2))
+                .quantity(summarize(merged.quantity, 0))
+                .build();
+    }
+
+    private void record(TransactionCreatedEvent event) {
+        LocalDate day = event.getCreatedDate() != null ? event.getCreatedDate().toLocalDate() : LocalDate.now();
+        if (day.isBefore(cutoff())) {
+            return;
+        }
+        String category = event.getCategory() != null ? event.getCategory() : UNCATEGORIZED;
+        Histograms histograms = buckets.computeIfAbsent(new BucketKey(category, day), key -> new Histograms());
+        histograms.valueCents.record(event.getTotalPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        histograms.quantity.record(event.getQuantity());
+    }
+
+    private LocalDate cutoff() {
+        return LocalDate.now().minusDays(retentionDays - 1);
+    }
+
+    // Order values are recorded in cents and reported with scale 2; quantities with scale 0.
+    private static OrderDistribution.Summary summarize(LogLinearHistogram histogram, int scale) {
+        return OrderDistribution.Summary.builder()
+                .min(unscaled(histogram.min(), scale))
+                .max(unscaled(histogram.max(), scale))
+                .mean(BigDecimal.valueOf(histogram.mean()).movePointLeft(scale).setScale(2, RoundingMode.HALF_UP))
+                .p50(unscaled(histogram.valueAtPercentile(50), scale))
+                .p90(unscaled(histogram.valueAtPercentile(90), scale))
+                .p95(unscaled(histogram.valueAtPercentile(95), scale))
+                .p99(unscaled(histogram.valueAtPercentile(99), scale))
+                .bins(histogram.powerOfTwoBins().stream()
+                        .map(bin -> new OrderDistribution.Bin(unscaled(bin.from(), scale), unscaled(bin.to(), scale), bin.count()))
+                        .toList())
+                .build();
+    }
+
+    private static BigDecimal unscaled(long value, int scale) {
+        return BigDecimal.valueOf(value, scale);
+    }
+
+    private record BucketKey(String category, LocalDate day) {
+    }
+
+    private static final class Histograms {
+        private final LogLinearHistogram valueCents = new LogLinearHistogram();
+        private final LogLinearHistogram quantity = new LogLinearHistogram();
+
+        void merge(Histograms other) {
+            valueCents.merge(other.valueCents);
+            quantity.merge(other.quantity);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.service;
+
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Running revenue total, advanced as each transaction commits and rebuilt from
+ * {@code SUM(total_price)} at startup through a {@link CommitFence}, so no sale is
+ * missed or counted twice. Reads are a single volatile load.
+ */
+@Slf4j
+@Component
+public class RevenueTracker {
+
+    private final TransactionRepository transactionRepository;
+    private final CommitFence<BigDecimal> fence;
+
+    private volatile BigDecimal total = BigDecimal.ZERO;
+
+    public RevenueTracker(TransactionRepository transactionRepository, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.fence = new CommitFence<>(this, amount -> total = total.add(amount), jdbcTemplate, transactionManager);
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    // Runs inside the checkout transaction; the amount is added once it commits.
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        fence.record(event.getTotalPrice());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.revenue.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventory.revenue.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        fence.load(transactionRepository::sumTotalPrice, persisted -> {
+            if (fence.isLoaded() && persisted.compareTo(total) != 0) {
+                log.warn("Revenue total drifted from the database: tracked {}, persisted {}", total, persisted);
+            }
+            total = persisted;
+        });
+    }
+}
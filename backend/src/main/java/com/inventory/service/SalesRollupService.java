@@ -0,0 +1,131 @@
+package com.inventory.service;
+
+import com.inventory.dto.SalesReportRow;
+import com.inventory.entity.SalesRollup;
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.SalesRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly and daily per-item sales aggregates. Committed sales are summed per bucket in
+ * memory and written as additive upserts by a background flush, so checkouts never
+ * touch the rollup rows. Reports trail checkouts by up to one flush interval, and sales
+ * not yet flushed when the process dies are missing from the rollups.
+ */
+@Slf4j
+@Service
+public class SalesRollupService {
+
+    private final SalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionHistoryReader.Feed feed;
+
+    private Map<BucketKey, Totals> unflushed = new HashMap<>();
+    // Serializes writers so two batches never upsert the same rows in opposite orders.
+    private final Object flushLock = new Object();
+
+    public SalesRollupService(SalesRollupRepository rollupRepository,
+                              TransactionHistoryReader historyReader,
+                              PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Empty rollups are backfilled from history; otherwise counting starts with live sales.
+        this.feed = historyReader.feed(this, this::add)
+                .replayAfter(() -> rollupRepository.count() > 0 ? Long.MAX_VALUE : 0)
+                .afterChunk(this::flush)
+                .onReplayed(this::backfilled);
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        feed.offer(event);
+    }
+
+    private void backfilled(long replayed) {
+        if (replayed > 0) {
+            flush();
+            log.info("Sales rollups backfilled from {} transactions", replayed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.sales-rollups.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        synchronized (flushLock) {
+            Map<BucketKey, Totals> batch;
+            synchronized (this) {
+                if (unflushed.isEmpty()) {
+                    return;
+                }
+                batch = unflushed;
+                unflushed = new HashMap<>();
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach((key, totals) ->
+                        rollupRepository.upsert(key.granularity.name(), key.bucketStart, key.itemId, key.category,
+                                totals.units, totals.revenue, totals.transactions)));
+            } catch (RuntimeException ex) {
+                log.warn("Writing {} sales rollup buckets failed; retrying on the next flush", batch.size(), ex);
+                synchronized (this) {
+                    batch.forEach((key, totals) -> unflushed.merge(key, totals, Totals::plus));
+                }
+            }
+        }
+    }
+
+    private void add(TransactionCreatedEvent event) {
+        for (SalesRollup.Granularity granularity : SalesRollup.Granularity.values()) {
+            BucketKey key = new BucketKey(granularity, granularity.bucketOf(event.getCreatedDate()),
+                    event.getItemId(), event.getCategory());
+            unflushed.merge(key, new Totals(event.getQuantity(), event.getTotalPrice(), 1), Totals::plus);
+        }
+    }
+
+    public List<SalesReportRow> getSalesReport(String granularity, LocalDateTime from, LocalDateTime to, String groupBy) {
+        SalesRollup.Granularity resolved;
+        try {
+            resolved = SalesRollup.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Granularity must be one of: hour, day");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(resolved == SalesRollup.Granularity.HOUR ? 1 : 30);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (Duration.between(start, end).toDays() > resolved.getMaxRangeDays()) {
+            throw new BadRequestException("Range cannot exceed " + resolved.getMaxRangeDays()
+                    + " days at " + granularity.toLowerCase() + " granularity");
+        }
+        start = resolved.bucketOf(start);
+
+        return switch (groupBy.toLowerCase()) {
+            case "item" -> rollupRepository.findByItem(resolved, start, end);
+            case "category" -> rollupRepository.findByCategory(resolved, start, end);
+            default -> throw new BadRequestException("groupBy must be one of: item, category");
+        };
+    }
+
+    private record BucketKey(SalesRollup.Granularity granularity, LocalDateTime bucketStart, Long itemId, String category) {
+    }
+
+    private record Totals(long units, BigDecimal revenue, long transactions) {
+        Totals plus(Totals other) {
+            return new Totals(units + other.units, revenue.add(other.revenue), transactions + other.transactions);
+        }
+    }
+}
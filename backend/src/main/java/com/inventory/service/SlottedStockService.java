@@ -0,0 +1,348 @@
+package com.inventory.service;
+
+import com.inventory.dto.StockLevel;
+import com.inventory.entity.InventoryStock;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.InventoryStockRepository;
+import com.inventory.repository.StockLevelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optional "slotted" stock for hot items. A slotted item's quantity is split across N
+ * rows in {@code inventory_stock_slots}; a checkout decrements one randomly chosen slot,
+ * so concurrent orders for the same item mostly lock different rows instead of queueing
+ * on the single {@code inventory_stock} row.
+ *
+ * <p>The slots are authoritative. {@code inventory_stock.quantity} mirrors their sum and
+ * is refreshed by the rebalance job, so list views may lag sales by one interval;
+ * single-item reads and checkout responses sum the slots. The refresh leaves
+ * {@code version} alone, so it never fails an admin's If-Match. Locks are always taken on
+ * slots before the item row.
+ */
+@Slf4j
+@Service
+public class SlottedStockService {
+
+    public static final int MAX_SLOTS = 64;
+
+    private static final String TAKE_FROM_SLOT = "UPDATE inventory_stock_slots SET quantity = quantity - :quantity " +
+            "WHERE item_id = :itemId AND slot_no = :slotNo AND quantity >= :quantity";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InventoryStockRepository inventoryRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Which items are slotted, so checkouts can skip a lookup. SQL guards keep it correct
+    // while an enable or disable is committing.
+    private final Map<Long, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    public SlottedStockService(NamedParameterJdbcTemplate jdbcTemplate, InventoryStockRepository inventoryRepository,
+                               StockLevelRepository stockLevelRepository, TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryRepository = inventoryRepository;
+        this.stockLevelRepository = stockLevelRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Runs before the ledger and trackers take their startup baselines, so the mirror is current.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        jdbcTemplate.query("SELECT id, slot_count FROM inventory_stock WHERE slot_count IS NOT NULL", Map.of(),
+                rs -> {
+                    slotCounts.put(rs.getLong(1), rs.getInt(2));
+                });
+        rebalance();
+    }
+
+    /** Takes {@code quantity} from the item's stock in either mode; false when there is not enough. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean decrement(long itemId, int quantity) {
+        Integer slots = slotCounts.get(itemId);
+        if (slots == null) {
+            if (inventoryRepository.decrementStock(itemId, quantity) > 0) {
+                return true;
+            }
+            slots = readSlotCount(itemId);
+            if (slots == null) {
+                return false;
+            }
+        }
+        // A probe that misses still leaves its slot locked, and waiting for other slots while
+        // holding it can deadlock, so only the first slot that a plain read shows can cover
+        // the order is probed.
+        int[] levels = jdbcTemplate.queryForList("SELECT quantity FROM inventory_stock_slots WHERE item_id = :itemId ORDER BY slot_no",
+                new MapSqlParameterSource("itemId", itemId), Integer.class).stream().mapToInt(Integer::intValue).toArray();
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < levels.length; i++) {
+            int slot = (start + i) % levels.length;
+            if (levels[slot] >= quantity) {
+                if (takeFromSlot(itemId, slot, quantity)) {
+                    return true;
+                }
+                throw new CannotAcquireLockException("Slot " + slot + " of item " + itemId + " was drained by a concurrent order");
+            }
+        }
+
+        // No single slot covers the order: lock them all, in slot order, and take across slots.
+        int[] locked = lockSlots(itemId);
+        if (locked.length == 0) {
+            // Slotting was switched off after the slot count was read.
+            slotCounts.remove(itemId);
+            return inventoryRepository.decrementStock(itemId, quantity) > 0;
+        }
+        if (Arrays.stream(locked).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        List<SqlParameterSource> updates = new ArrayList<>();
+        for (int slot = 0; slot < locked.length && remaining > 0; slot++) {
+            int taken = Math.min(remaining, locked[slot]);
+            if (taken > 0) {
+                updates.add(slotParams(itemId, slot).addValue("quantity", locked[slot] - taken));
+                remaining -= taken;
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE inventory_stock_slots SET quantity = :quantity WHERE item_id = :itemId AND slot_no = :slotNo",
+                updates.toArray(SqlParameterSource[]::new));
+        return true;
+    }
+
+    /** Applies a stock delta in either mode; false when it would take the item below zero. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean adjust(long itemId, int delta) {
+        Integer slots = slotCounts.get(itemId);
+        if (slots == null) {
+            if (inventoryRepository.adjustStock(itemId, delta) > 0) {
+                return true;
+            }
+            slots = readSlotCount(itemId);
+            if (slots == null) {
+                return false;
+            }
+        }
+        if (delta < 0) {
+            return decrement(itemId, -delta);
+        }
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        return jdbcTemplate.update("UPDATE inventory_stock_slots SET quantity = quantity + :delta WHERE item_id = :itemId AND slot_no = :slotNo",
+                slotParams(itemId, slot).addValue("delta", delta)) == 1 || adjustAfterDisable(itemId, delta);
+    }
+
+    private boolean adjustAfterDisable(long itemId, int delta) {
+        slotCounts.remove(itemId);
+        return inventoryRepository.adjustStock(itemId, delta) > 0;
+    }
+
+    /** Quantity the item actually has: the slot total when slotted, the row value otherwise. */
+    public int currentQuantity(InventoryStock item) {
+        if (item.getSlotCount() == null) {
+            return item.getQuantity();
+        }
+        Integer total = jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM inventory_stock_slots WHERE item_id = :itemId",
+                new MapSqlParameterSource("itemId", item.getId()), Integer.class);
+        return total != null ? total : item.getQuantity();
+    }
+
+    public List<StockLevel> currentLevels(Collection<Long> itemIds) {
+        return stockLevelRepository.findLevels(itemIds);
+    }
+
+    /**
+     * Locks the slots of whichever of {@code itemIds} are slotted and returns their totals.
+     * Callers that go on to overwrite quantities must call this before touching item rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> lockTotals(Collection<Long> itemIds) {
+        Map<Long, Integer> totals = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return totals;
+        }
+        jdbcTemplate.query("SELECT item_id, quantity FROM inventory_stock_slots WHERE item_id IN (:ids) ORDER BY item_id, slot_no FOR UPDATE",
+                new MapSqlParameterSource("ids", itemIds),
+                rs -> {
+                    totals.merge(rs.getLong(1), rs.getInt(2), Integer::sum);
+                });
+        return totals;
+    }
+
+    /** Spreads {@code total} evenly over the item's slots, which the caller has locked. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redistribute(long itemId, int total) {
+        int slots = lockSlots(itemId).length;
+        if (slots > 0) {
+            writeEvenly(itemId, slots, total);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteSlots(long itemId) {
+        jdbcTemplate.update("DELETE FROM inventory_stock_slots WHERE item_id = :itemId", new MapSqlParameterSource("itemId", itemId));
+        afterCommit(() -> slotCounts.remove(itemId));
+    }
+
+    /** Switches the item to slotted mode with {@code count} slots, or re-splits it if it already is. */
+    @Transactional
+    public InventoryStock setSlotCount(long itemId, int count) {
+        if (count < 2 || count > MAX_SLOTS) {
+            throw new BadRequestException("Slot count must be between 2 and " + MAX_SLOTS);
+        }
+        int[] existing = lockSlots(itemId);
+        Integer rowQuantity = lockItemRow(itemId);
+        int total = existing.length > 0 ? Arrays.stream(existing).sum() : rowQuantity;
+        jdbcTemplate.update("DELETE FROM inventory_stock_slots WHERE item_id = :itemId", new MapSqlParameterSource("itemId", itemId));
+        List<SqlParameterSource> inserts = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            inserts.add(slotParams(itemId, slot).addValue("quantity", share(total, count, slot)));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_stock_slots (item_id, slot_no, quantity) VALUES (:itemId, :slotNo, :quantity)",
+                inserts.toArray(SqlParameterSource[]::new));
+        return writeItemRow(itemId, total, count);
+    }
+
+    /** Folds the slots back into the item row and leaves slotted mode. */
+    @Transactional
+    public InventoryStock disable(long itemId) {
+        int[] existing = lockSlots(itemId);
+        Integer rowQuantity = lockItemRow(itemId);
+        int total = existing.length > 0 ? Arrays.stream(existing).sum() : rowQuantity;
+        jdbcTemplate.update("DELETE FROM inventory_stock_slots WHERE item_id = :itemId", new MapSqlParameterSource("itemId", itemId));
+        return writeItemRow(itemId, total, null);
+    }
+
+    /** Evens out drained slots and refreshes the mirrored quantity on each slotted item. */
+    @Scheduled(fixedDelayString = "${inventory.slotted-stock.rebalance-interval-ms:5000}",
+               initialDelayString = "${inventory.slotted-stock.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        for (Long itemId : slotCounts.keySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(itemId));
+            } catch (RuntimeException ex) {
+                log.warn("Rebalancing slots for item {} failed: {}", itemId, ex.getMessage());
+            }
+        }
+    }
+
+    private void rebalance(long itemId) {
+        int[] slots = lockSlots(itemId);
+        if (slots.length == 0) {
+            return;
+        }
+        int total = Arrays.stream(slots).sum();
+        int fairShare = total / slots.length;
+        if (Arrays.stream(slots).anyMatch(quantity -> quantity < fairShare / 2)) {
+            writeEvenly(itemId, slots.length, total);
+        }
+        int mirrored = jdbcTemplate.update("UPDATE inventory_stock SET quantity = :total, updated_date = :now " +
+                        "WHERE id = :itemId AND quantity <> :total",
+                new MapSqlParameterSource("itemId", itemId)
+                        .addValue("total", total)
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+        if (mirrored > 0) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(itemId, total));
+        }
+    }
+
+    private boolean takeFromSlot(long itemId, int slot, int quantity) {
+        return jdbcTemplate.update(TAKE_FROM_SLOT, slotParams(itemId, slot).addValue("quantity", quantity)) == 1;
+    }
+
+    private int[] lockSlots(long itemId) {
+        List<Integer> quantities = jdbcTemplate.queryForList(
+                "SELECT quantity FROM inventory_stock_slots WHERE item_id = :itemId ORDER BY slot_no FOR UPDATE",
+                new MapSqlParameterSource("itemId", itemId), Integer.class);
+        return quantities.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Integer lockItemRow(long itemId) {
+        List<Integer> quantity = jdbcTemplate.queryForList("SELECT quantity FROM inventory_stock WHERE id = :itemId FOR UPDATE",
+                new MapSqlParameterSource("itemId", itemId), Integer.class);
+        if (quantity.isEmpty()) {
+            throw new ResourceNotFoundException("Item not found with id: " + itemId);
+        }
+        return quantity.get(0);
+    }
+
+    private InventoryStock writeItemRow(long itemId, int total, Integer slotCount) {
+        jdbcTemplate.update("UPDATE inventory_stock SET quantity = :total, slot_count = :slotCount, version = version + 1, " +
+                        "updated_date = :now WHERE id = :itemId",
+                new MapSqlParameterSource("itemId", itemId)
+                        .addValue("total", total)
+                        .addValue("slotCount", slotCount, java.sql.Types.INTEGER)
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+        if (slotCount != null) {
+            afterCommit(() -> slotCounts.put(itemId, slotCount));
+        } else {
+            afterCommit(() -> slotCounts.remove(itemId));
+        }
+        InventoryStock item = inventoryRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
+        eventPublisher.publishEvent(InventoryItemChangedEvent.of(item));
+        return item;
+    }
+
+    private void writeEvenly(long itemId, int slots, int total) {
+        List<SqlParameterSource> updates = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            updates.add(slotParams(itemId, slot).addValue("quantity", share(total, slots, slot)));
+        }
+        jdbcTemplate.batchUpdate("UPDATE inventory_stock_slots SET quantity = :quantity WHERE item_id = :itemId AND slot_no = :slotNo",
+                updates.toArray(SqlParameterSource[]::new));
+    }
+
+    private Integer readSlotCount(long itemId) {
+        List<Integer> count = jdbcTemplate.queryForList("SELECT slot_count FROM inventory_stock WHERE id = :itemId AND slot_count IS NOT NULL",
+                new MapSqlParameterSource("itemId", itemId), Integer.class);
+        if (count.isEmpty()) {
+            return null;
+        }
+        slotCounts.put(itemId, count.get(0));
+        return count.get(0);
+    }
+
+    private static int share(int total, int slots, int slot) {
+        return total / slots + (slot < total % slots ? 1 : 0);
+    }
+
+    private static MapSqlParameterSource slotParams(long itemId, int slotNo) {
+        return new MapSqlParameterSource("itemId", itemId).addValue("slotNo", slotNo);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
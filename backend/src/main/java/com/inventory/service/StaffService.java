@@ -8,6 +8,7 @@ import com.inventory.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +19,7 @@ public class StaffService {
 
     private final StaffRepository staffRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final DashboardStatsTracker dashboardStats;
 
     public LoginResponse login(LoginRequest request) {
         Staff staff = staffRepository.findByEmail(request.getEmail())
@@ -44,6 +46,7 @@ public class StaffService {
                 .build();
     }
 
+    @Transactional
     public StaffDTO createStaff(CreateStaffRequest request) {
         if (staffRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already exists");
@@ -60,7 +63,9 @@ public class StaffService {
                 .status(Staff.Status.ACTIVE)
                 .build();
 
-        return StaffDTO.fromEntity(staffRepository.save(staff));
+        StaffDTO created = StaffDTO.fromEntity(staffRepository.save(staff));
+        dashboardStats.staffChanged(1);
+        return created;
     }
 
     public StaffDTO updateStaff( Long id, UpdateStaffRequest request) {
@@ -90,6 +95,7 @@ public class StaffService {
         return StaffDTO.fromEntity(staffRepository.save(staff));
     }
 
+    @Transactional
     public void deleteStaff(Long id) {
         if (id == null) {
             throw new BadRequestException("Staff id must not be null");
@@ -98,6 +104,7 @@ public class StaffService {
             throw new ResourceNotFoundException("Staff not found with id: " + id);
         }
         staffRepository.deleteById(id);
+        dashboardStats.staffChanged(-1);
     }
 
     public StaffDTO getStaffById(Long id) {
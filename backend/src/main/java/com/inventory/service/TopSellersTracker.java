@@ -0,0 +1,202 @@
+package com.inventory.service;
+
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.sketch.SpaceSaving;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Best sellers by units sold, kept in {@link SpaceSaving} summaries of a fixed size so
+ * memory does not grow with the catalogue. One summary covers all time; the hour and
+ * day windows are rings of per-slice summaries (5-minute and 1-hour slices) that are
+ * merged on read, so the windows slide in slice-sized steps.
+ *
+ * <p>The lock is shared with {@link #record}, so reads only copy under it. The merge of
+ * a ring's closed slices is kept until the window slides or a late sale lands in one of
+ * them; a read copies the open slice and merges it with that outside the lock.
+ */
+@Slf4j
+@Component
+public class TopSellersTracker {
+
+    public enum Window {
+        ALL(0, 0), HOUR(5 * 60_000L, 12), DAY(60 * 60_000L, 24);
+
+        private final long sliceMillis;
+        private final int slices;
+
+        Window(long sliceMillis, int slices) {
+            this.sliceMillis = sliceMillis;
+            this.slices = slices;
+        }
+
+        public static Window parse(String window) {
+            try {
+                return Window.valueOf(window.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Window must be one of: all, hour, day");
+            }
+        }
+    }
+
+    private final int capacity;
+
+    private final SpaceSaving allTime;
+    private final Ring hour;
+    private final Ring day;
+
+    private final TransactionHistoryReader.Feed feed;
+
+    public TopSellersTracker(TransactionHistoryReader historyReader,
+                             @Value("${inventory.top-sellers.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+        this.allTime = new SpaceSaving(capacity);
+        this.hour = new Ring(Window.HOUR, capacity);
+        this.day = new Ring(Window.DAY, capacity);
+        this.feed = historyReader.feed(this, this::record).onReplayed(this::rebuilt);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        feed.offer(event);
+    }
+
+    private synchronized void rebuilt(long replayed) {
+        log.info("Top sellers rebuilt over {} units sold", allTime.totalWeight());
+    }
+
+    /** The {@code n} best sellers in the window, most units first. */
+    public List<SpaceSaving.Counter> top(Window window, int n) {
+        if (window == Window.ALL) {
+            synchronized (this) {
+                return allTime.top(n);
+            }
+        }
+        Ring ring = window == Window.HOUR ? hour : day;
+        long now = System.currentTimeMillis();
+        Ring.Read read;
+        synchronized (this) {
+            read = ring.read(now);
+        }
+        if (read.closed == null) {
+            read.closed = new SpaceSaving(capacity);
+            for (SpaceSaving slice : read.closedSlices) {
+                read.closed.merge(slice);
+            }
+            synchronized (this) {
+                ring.keep(read);
+            }
+        }
+        read.open.merge(read.closed);
+        return read.open.top(n);
+    }
+
+    private void record(TransactionCreatedEvent event) {
+        long at = event.getCreatedDate() == null
+                ? System.currentTimeMillis()
+                : event.getCreatedDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        allTime.add(event.getItemId(), event.getQuantity());
+        hour.add(at, event.getItemId(), event.getQuantity());
+        day.add(at, event.getItemId(), event.getQuantity());
+    }
+
+    private static final class Ring {
+        private final Window window;
+        private final int capacity;
+        private final SpaceSaving[] slices;
+        private final long[] sliceNumbers;
+
+        // Merge of the in-window slices before closedFor, read-only once kept.
+        private SpaceSaving closed;
+        private long closedFor = -1;
+        private long closedChanges;
+
+        Ring(Window window, int capacity) {
+            this.window = window;
+            this.capacity = capacity;
+            this.slices = new SpaceSaving[window.slices];
+            this.sliceNumbers = new long[window.slices];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = new SpaceSaving(capacity);
+                sliceNumbers[i] = -1;
+            }
+        }
+
+        void add(long atMillis, long itemId, int quantity) {
+            long sliceNumber = atMillis / window.sliceMillis;
+            long current = System.currentTimeMillis() / window.sliceMillis;
+            if (sliceNumber <= current - window.slices || sliceNumber > current) {
+                return;
+            }
+            int index = (int) (sliceNumber % window.slices);
+            if (sliceNumbers[index] != sliceNumber) {
+                // The slot still holds a slice that has slid out of the window.
+                slices[index].clear();
+                sliceNumbers[index] = sliceNumber;
+            }
+            slices[index].add(itemId, quantity);
+            if (sliceNumber < Math.max(current, closedFor)) {
+                // A late sale in a closed slice; the kept merge no longer covers it.
+                closedChanges++;
+                closed = null;
+                closedFor = -1;
+            }
+        }
+
+        /** Copies what a read needs: the open slice, and the closed merge or the slices behind it. */
+        Read read(long nowMillis) {
+            long current = nowMillis / window.sliceMillis;
+            Read read = new Read(current, closedChanges);
+            read.open = new SpaceSaving(capacity);
+            for (int i = 0; i < slices.length; i++) {
+                if (sliceNumbers[i] == current) {
+                    read.open = new SpaceSaving(slices[i]);
+                }
+            }
+            if (closedFor == current) {
+                read.closed = closed;
+                return read;
+            }
+            for (int i = 0; i < slices.length; i++) {
+                if (sliceNumbers[i] > current - window.slices && sliceNumbers[i] < current) {
+                    read.closedSlices.add(new SpaceSaving(slices[i]));
+                }
+            }
+            return read;
+        }
+
+        /** Keeps the closed merge a read built, unless the slices behind it changed meanwhile. */
+        void keep(Read read) {
+            if (read.closedChanges == closedChanges && read.current >= closedFor) {
+                closed = read.closed;
+                closedFor = read.current;
+            }
+        }
+
+        private static final class Read {
+            private final long current;
+            private final long closedChanges;
+            private final List<SpaceSaving> closedSlices = new ArrayList<>();
+            private SpaceSaving open;
+            private SpaceSaving closed;
+
+            Read(long current, long closedChanges) {
+                this.current = current;
+                this.closedChanges = closedChanges;
+            }
+        }
+    }
+}
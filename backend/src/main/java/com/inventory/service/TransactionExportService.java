@@ -0,0 +1,131 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.inventory.dto.TransactionDTO;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes transaction history straight from a forward-only result set to the
+ * response, one row at a time, so memory use does not grow with the export size.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", new MediaType("application", "x-ndjson", StandardCharsets.UTF_8));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Format must be one of: csv, ndjson");
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        LocalDateTime start = from != null ? from : EPOCH;
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<TransactionDTO> rows = transactionRepository.streamByDateRange(start, end)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Iterator<TransactionDTO> rows, Writer writer) throws IOException {
+        writer.write("id,customerId,customerName,itemId,itemName,quantity,totalPrice,createdDate\n");
+        int written = 0;
+        while (rows.hasNext()) {
+            TransactionDTO row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getCustomerId()));
+            writer.write(',');
+            writeCsvField(writer, row.getCustomerName());
+            writer.write(',');
+            writer.write(String.valueOf(row.getItemId()));
+            writer.write(',');
+            writeCsvField(writer, row.getItemName());
+            writer.write(',');
+            writer.write(String.valueOf(row.getQuantity()));
+            writer.write(',');
+            writer.write(row.getTotalPrice().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(row.getCreatedDate()));
+            writer.write('\n');
+            if (++written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNdjson(Iterator<TransactionDTO> rows, Writer writer) throws IOException {
+        SequenceWriter sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        int written = 0;
+        while (rows.hasNext()) {
+            sequence.write(rows.next());
+            if (++written % FLUSH_EVERY == 0) {
+                sequence.flush();
+            }
+        }
+        sequence.flush();
+        if (written > 0) {
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.inventory.service;
+
+import com.inventory.event.TransactionCreatedEvent;
+import com.inventory.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Replays committed transactions in id order, one bounded chunk at a time, for
+ * components that warm up in-memory state from history at startup. Every {@link Feed}
+ * is warmed by one shared pass that starts at the earliest id any of them asks for, so
+ * the table is read once however many components replay it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionHistoryReader {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    private final TransactionRepository transactionRepository;
+
+    private final List<Feed> feeds = new CopyOnWriteArrayList<>();
+
+    /** Replays only the transactions with ids greater than {@code afterId}. */
+    public void forEachChunk(long afterId, Consumer<List<TransactionCreatedEvent>> consumer) {
+        List<TransactionCreatedEvent> chunk;
+        do {
+            chunk = transactionRepository.findEventsAfter(afterId, Limit.of(CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+                afterId = chunk.get(chunk.size() - 1).getTransactionId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    /**
+     * A feed that warms {@code sink} from history and then hands it live sales, each
+     * transaction exactly once. {@code sink} is always called holding {@code lock}.
+     * By default it replays all of history; see {@link Feed#replayAfter}.
+     */
+    public Feed feed(Object lock, Consumer<TransactionCreatedEvent> sink) {
+        Feed feed = new Feed(lock, sink);
+        feeds.add(feed);
+        return feed;
+    }
+
+    /** Asks every feed where it starts, replays from the earliest of those once, then takes them all live. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayFeeds() {
+        long from = Long.MAX_VALUE;
+        for (Feed feed : feeds) {
+            from = Math.min(from, feed.start());
+        }
+        long[] read = {0};
+        if (from != Long.MAX_VALUE) {
+            forEachChunk(from, chunk -> {
+                feeds.forEach(feed -> feed.replay(chunk));
+                read[0] += chunk.size();
+            });
+        }
+        feeds.forEach(Feed::goLive);
+        log.info("Replayed {} transactions into {} feeds in one pass", read[0], feeds.size());
+    }
+
+    /**
+     * Live sales offered before the replay finishes are held back. Afterwards a sale
+     * is delivered unless the replay already read it: the replay remembers the ids it
+     * passed over (not yet committed, or rolled back), so a sale that commits late with a
+     * lower id still arrives, and one whose listener runs after its row was replayed does
+     * not arrive twice.
+     */
+    public final class Feed {
+
+        private final Object lock;
+        private final Consumer<TransactionCreatedEvent> sink;
+        private LongSupplier replayAfter = () -> 0;
+        private Runnable afterChunk = () -> {
+        };
+        private LongConsumer onReplayed = replayed -> {
+        };
+
+        private long replayedAfter;
+        private long replayedUpTo;
+        private long replayed;
+        // Id ranges (first to last, inclusive) inside the replayed span that it did not read.
+        private final NavigableMap<Long, Long> skipped = new TreeMap<>();
+        private List<TransactionCreatedEvent> pending = new ArrayList<>();
+
+        private Feed(Object lock, Consumer<TransactionCreatedEvent> sink) {
+            this.lock = lock;
+            this.sink = sink;
+        }
+
+        /**
+         * Where the replay starts: transactions with ids greater than the returned id are
+         * replayed, and {@code Long.MAX_VALUE} goes straight to live. Asked once, when
+         * the application is ready, so it may load whatever the feed needs first.
+         */
+        public Feed replayAfter(LongSupplier afterId) {
+            this.replayAfter = afterId;
+            return this;
+        }
+
+        /** Runs without the lock after each replayed chunk that reached the sink. */
+        public Feed afterChunk(Runnable afterChunk) {
+            this.afterChunk = afterChunk;
+            return this;
+        }
+
+        /** Told how many transactions were replayed, once the feed is live. */
+        public Feed onReplayed(LongConsumer onReplayed) {
+            this.onReplayed = onReplayed;
+            return this;
+        }
+
+        public void offer(TransactionCreatedEvent event) {
+            synchronized (lock) {
+                if (pending != null) {
+                    pending.add(event);
+                } else {
+                    deliver(event);
+                }
+            }
+        }
+
+        private long start() {
+            long afterId = replayAfter.getAsLong();
+            synchronized (lock) {
+                replayedAfter = afterId;
+                replayedUpTo = afterId;
+            }
+            return afterId;
+        }
+
+        private void replay(List<TransactionCreatedEvent> chunk) {
+            if (chunk.get(chunk.size() - 1).getTransactionId() <= replayedAfter) {
+                return;
+            }
+            synchronized (lock) {
+                for (TransactionCreatedEvent event : chunk) {
+                    long id = event.getTransactionId();
+                    if (id <= replayedAfter) {
+                        continue;
+                    }
+                    if (id > replayedUpTo + 1) {
+                        skipped.put(replayedUpTo + 1, id - 1);
+                    }
+                    replayedUpTo = id;
+                    replayed++;
+                    sink.accept(event);
+                }
+            }
+            afterChunk.run();
+        }
+
+        private void goLive() {
+            synchronized (lock) {
+                List<TransactionCreatedEvent> held = pending;
+                pending = null;
+                held.forEach(this::deliver);
+            }
+            onReplayed.accept(replayed);
+        }
+
+        private void deliver(TransactionCreatedEvent event) {
+            long id = event.getTransactionId();
+            if (id > replayedAfter && id <= replayedUpTo && !takeSkipped(id)) {
+                return;
+            }
+            sink.accept(event);
+        }
+
+        private boolean takeSkipped(long id) {
+            Map.Entry<Long, Long> range = skipped.floorEntry(id);
+            if (range == null || range.getValue() < id) {
+                return false;
+            }
+            skipped.remove(range.getKey());
+            if (range.getKey() < id) {
+                skipped.put(range.getKey(), id - 1);
+            }
+            if (range.getValue() > id) {
+                skipped.put(id + 1, range.getValue());
+            }
+            return true;
+        }
+    }
+}
@@ -2,31 +2,92 @@ package com.inventory.service;
 
 import com.inventory.dto.*;
 import com.inventory.entity.Customer;
+import com.inventory.entity.IdempotencyRecord;
 import com.inventory.entity.InventoryStock;
 import com.inventory.entity.Transaction;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.event.TransactionCreatedEvent;
 import com.inventory.exception.BadRequestException;
 import com.inventory.exception.ResourceNotFoundException;
-import com.inventory.repository.CustomerRepository;
 import com.inventory.repository.InventoryStockRepository;
 import com.inventory.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_CHECKOUT_ATTEMPTS = 5;
+
     private final TransactionRepository transactionRepository;
-    private final CustomerRepository customerRepository;
     private final InventoryStockRepository inventoryRepository;
+    private final RevenueTracker revenueTracker;
+    private final IdempotencyService idempotencyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LookupCache lookupCache;
+    private final SlottedStockService slottedStock;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public TransactionDTO createTransaction(CreateTransactionRequest request) {
+        return createTransaction(request, null);
+    }
+
+    public TransactionDTO createTransaction(CreateTransactionRequest request, String idempotencyKey) {
+        return checkout(request.getCustomerId(), () -> createOne(request, idempotencyKey));
+    }
+
+    public List<TransactionDTO> createTransactions(CreateBatchTransactionRequest request) {
+        return checkout(request.getCustomerId(), () -> createBatch(request));
+    }
+
+    /**
+     * Runs a checkout in its own transaction, starting it over when it loses a lock race:
+     * a slotted decrement whose slot was drained first, or a deadlock victim. The customer
+     * comes from the cache, so a foreign key failure means it was deleted meanwhile.
+     */
+    private <T> T checkout(Long customerId, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt == MAX_CHECKOUT_ATTEMPTS || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw ex;
+                }
+            } catch (DataIntegrityViolationException ex) {
+                if (customerId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw ex;
+                }
+                lookupCache.evictCustomer(customerId);
+                if (lookupCache.findCustomer(customerId).isEmpty()) {
+                    throw new ResourceNotFoundException("Customer not found with id: " + customerId);
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private TransactionDTO createOne(CreateTransactionRequest request, String idempotencyKey) {
+        IdempotencyRecord idempotencyRecord = idempotencyKey != null
+                ? idempotencyService.reserve(idempotencyKey, request)
+                : null;
         if (request.getCustomerId() == null) {
             throw new BadRequestException("Customer ID must not be null");
         }
@@ -34,7 +95,7 @@ public class TransactionService {
         if (customerId == null) {
             throw new BadRequestException("Customer ID must not be null");
         }
-        Customer customer = customerRepository.findById(customerId)
+        Customer customer = lookupCache.findCustomer(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
 
         if (request.getItemId() == null) {
@@ -44,58 +105,138 @@ public class TransactionService {
         if (itemId == null) {
             throw new BadRequestException("Item ID must not be null");
         }
+        int quantity = request.getQuantity();
+        if (!slottedStock.decrement(itemId, quantity)) {
+            InventoryStock current = inventoryRepository.findById(itemId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
+            throw new BadRequestException("Insufficient stock. Available: " + slottedStock.currentQuantity(current));
+        }
         InventoryStock item = inventoryRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
 
-        if (item.getQuantity() < request.getQuantity()) {
-            throw new BadRequestException("Insufficient stock. Available: " + item.getQuantity());
-        }
-
-        BigDecimal totalPrice = item.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
+        BigDecimal totalPrice = item.getPrice().multiply(BigDecimal.valueOf(quantity));
 
         Transaction transaction = Transaction.builder()
                 .customer(customer)
                 .item(item)
-                .quantity(request.getQuantity())
+                .quantity(quantity)
                 .totalPrice(totalPrice)
                 .build();
 
-        item.setQuantity(item.getQuantity() - request.getQuantity());
-        inventoryRepository.save(item);
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionCreatedEvent.of(saved));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(itemId, slottedStock.currentQuantity(item)));
+        TransactionDTO result = TransactionDTO.fromEntity(saved);
+        if (idempotencyRecord != null) {
+            idempotencyService.complete(idempotencyRecord, result);
+        }
+        return result;
+    }
+
+    private List<TransactionDTO> createBatch(CreateBatchTransactionRequest request) {
+        Long customerId = request.getCustomerId();
+        if (customerId == null) {
+            throw new BadRequestException("Customer ID must not be null");
+        }
+        Customer customer = lookupCache.findCustomer(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
+
+        // Lines for the same item are merged, and stock is decremented in id order so
+        // concurrent checkouts always take the row locks in the same sequence.
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (TransactionLineRequest line : request.getLines()) {
+            if (line.getItemId() == null) {
+                throw new BadRequestException("Item ID must not be null");
+            }
+            quantities.merge(line.getItemId(), line.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, InventoryStock> items = inventoryRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(InventoryStock::getId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Long itemId = entry.getKey();
+            int quantity = entry.getValue();
+            InventoryStock item = items.get(itemId);
+            if (item == null) {
+                throw new ResourceNotFoundException("Item not found with id: " + itemId);
+            }
+            if (!slottedStock.decrement(itemId, quantity)) {
+                throw new BadRequestException("Insufficient stock for item: " + item.getItemName());
+            }
+            transactions.add(Transaction.builder()
+                    .customer(customer)
+                    .item(item)
+                    .quantity(quantity)
+                    .totalPrice(item.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .build());
+        }
 
-        return TransactionDTO.fromEntity(transactionRepository.save(transaction));
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        saved.forEach(t -> eventPublisher.publishEvent(TransactionCreatedEvent.of(t)));
+        slottedStock.currentLevels(quantities.keySet()).forEach(level ->
+                eventPublisher.publishEvent(new StockLevelChangedEvent(level.getItemId(), level.getQuantity())));
+        return saved.stream()
+                .map(TransactionDTO::fromEntity)
+                .collect(Collectors.toList());
     }
 
     public TransactionDTO getTransactionById(Long id) {
         if (id == null) {
             throw new BadRequestException("Transaction ID must not be null");
         }
-        return transactionRepository.findById(id)
-                .map(TransactionDTO::fromEntity)
+        return transactionRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
     }
 
-    public List<TransactionDTO> getAllTransactions() {
-        return transactionRepository.findAllOrderByDateDesc().stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<TransactionDTO> getAllTransactions(String cursor, int size) {
+        return page(cursor, size,
+                transactionRepository::findFirstPage,
+                (after, limit) -> transactionRepository.findPageAfter(after.getCreatedDate(), after.getId(), limit));
     }
 
-    public List<TransactionDTO> getTransactionsByCustomer(Long customerId) {
-        return transactionRepository.findByCustomerId(customerId).stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<TransactionDTO> getTransactionsByCustomer(Long customerId, String cursor, int size) {
+        return page(cursor, size,
+                limit -> transactionRepository.findFirstPageByCustomerId(customerId, limit),
+                (after, limit) -> transactionRepository.findPageAfterByCustomerId(
+                        customerId, after.getCreatedDate(), after.getId(), limit));
     }
 
-    public List<TransactionDTO> getTransactionsByItem(Long itemId) {
-        return transactionRepository.findByItemId(itemId).stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
+    public CustomerSpendSummary getCustomerSummary(Long customerId) {
+        return transactionRepository.summarizeByCustomerId(customerId);
+    }
+
+    public CursorPage<TransactionDTO> getTransactionsByItem(Long itemId, String cursor, int size) {
+        return page(cursor, size,
+                limit -> transactionRepository.findFirstPageByItemId(itemId, limit),
+                (after, limit) -> transactionRepository.findPageAfterByItemId(
+                        itemId, after.getCreatedDate(), after.getId(), limit));
+    }
+
+    private CursorPage<TransactionDTO> page(String cursor, int size,
+                                            Function<Limit, List<TransactionDTO>> firstPage,
+                                            BiFunction<TransactionCursor, Limit, List<TransactionDTO>> pageAfter) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        // One extra row tells us whether another page exists without a COUNT query.
+        Limit limit = Limit.of(pageSize + 1);
+        List<TransactionDTO> rows = cursor == null || cursor.isBlank()
+                ? firstPage.apply(limit)
+                : pageAfter.apply(TransactionCursor.decode(cursor), limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TransactionDTO last = rows.get(pageSize - 1);
+            nextCursor = new TransactionCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
     }
 
     public BigDecimal getTotalRevenue() {
-        return transactionRepository.findAll().stream()
-                .map(Transaction::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return revenueTracker.getTotal();
     }
 }
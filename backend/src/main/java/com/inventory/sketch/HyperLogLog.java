@@ -0,0 +1,179 @@
+package com.inventory.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter with 2^12 registers, giving a relative standard error of
+ * {@value #RELATIVE_STANDARD_ERROR} (about 3.3% at two standard errors). Small sets are
+ * held sparsely, as sorted (register, value) pairs, and switch to a dense register array
+ * once that would be smaller. Adding the same value twice changes nothing, and two
+ * sketches merge by taking the larger of each register.
+ *
+ * <p>Not thread-safe; callers synchronize.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double RELATIVE_STANDARD_ERROR = 0.01625;
+
+    private static final int SPARSE_LIMIT = REGISTERS / 4;
+    private static final int VALUE_BITS = 6;
+    private static final byte FORMAT_SPARSE = 0;
+    private static final byte FORMAT_DENSE = 1;
+
+    // Sparse entries are (register << VALUE_BITS | value), sorted by register.
+    private int[] sparse = new int[8];
+    private int sparseSize;
+    private byte[] dense;
+
+    /** Adds a value; returns whether any register changed. */
+    public boolean add(long value) {
+        long hash = mix(value);
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), Long.SIZE - PRECISION) + 1;
+        return offer(register, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            for (int register = 0; register < REGISTERS; register++) {
+                if (other.dense[register] != 0) {
+                    offer(register, other.dense[register]);
+                }
+            }
+        } else {
+            for (int i = 0; i < other.sparseSize; i++) {
+                offer(other.sparse[i] >>> VALUE_BITS, other.sparse[i] & ((1 << VALUE_BITS) - 1));
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros;
+        if (dense != null) {
+            zeros = 0;
+            for (byte rank : dense) {
+                sum += Math.scalb(1d, -rank);
+                if (rank == 0) {
+                    zeros++;
+                }
+            }
+        } else {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += Math.scalb(1d, -(sparse[i] & ((1 << VALUE_BITS) - 1)));
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty.
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** Sparse sketches take 3 bytes per non-empty register, dense ones one byte per register. */
+    public byte[] toBytes() {
+        if (dense != null) {
+            byte[] bytes = new byte[1 + REGISTERS];
+            bytes[0] = FORMAT_DENSE;
+            System.arraycopy(dense, 0, bytes, 1, REGISTERS);
+            return bytes;
+        }
+        byte[] bytes = new byte[1 + sparseSize * 3];
+        bytes[0] = FORMAT_SPARSE;
+        for (int i = 0; i < sparseSize; i++) {
+            bytes[1 + i * 3] = (byte) (sparse[i] >>> 16);
+            bytes[2 + i * 3] = (byte) (sparse[i] >>> 8);
+            bytes[3 + i * 3] = (byte) sparse[i];
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes[0] == FORMAT_DENSE) {
+            sketch.dense = Arrays.copyOfRange(bytes, 1, 1 + REGISTERS);
+        } else {
+            int entries = (bytes.length - 1) / 3;
+            sketch.sparse = new int[Math.max(8, entries)];
+            for (int i = 0; i < entries; i++) {
+                sketch.sparse[i] = (bytes[1 + i * 3] & 0xFF) << 16 | (bytes[2 + i * 3] & 0xFF) << 8 | (bytes[3 + i * 3] & 0xFF);
+            }
+            sketch.sparseSize = entries;
+        }
+        return sketch;
+    }
+
+    private boolean offer(int register, int rank) {
+        if (dense != null) {
+            if (dense[register] >= rank) {
+                return false;
+            }
+            dense[register] = (byte) rank;
+            return true;
+        }
+        int position = findSparse(register);
+        if (position >= 0) {
+            if ((sparse[position] & ((1 << VALUE_BITS) - 1)) >= rank) {
+                return false;
+            }
+            sparse[position] = register << VALUE_BITS | rank;
+            return true;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            dense[register] = (byte) rank;
+            return true;
+        }
+        int insertAt = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(SPARSE_LIMIT, sparseSize * 2));
+        }
+        System.arraycopy(sparse, insertAt, sparse, insertAt + 1, sparseSize - insertAt);
+        sparse[insertAt] = register << VALUE_BITS | rank;
+        sparseSize++;
+        return true;
+    }
+
+    private int findSparse(int register) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midRegister = sparse[mid] >>> VALUE_BITS;
+            if (midRegister < register) {
+                low = mid + 1;
+            } else if (midRegister > register) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        dense = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> VALUE_BITS] = (byte) (sparse[i] & ((1 << VALUE_BITS) - 1));
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    // MurmurHash3 finalizer: spreads sequential ids over all 64 bits.
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9a63c6b1a5bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
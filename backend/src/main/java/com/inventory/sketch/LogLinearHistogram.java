@@ -0,0 +1,158 @@
+package com.inventory.sketch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HdrHistogram-style histogram of non-negative longs. Values are grouped into
+ * power-of-two ranges, each split into 64 equal sub-buckets, so every recorded value is
+ * known to within {@value #RELATIVE_ERROR} of itself whatever its magnitude. Each
+ * power-of-two range gets its counters on first use, so memory is bounded (about 30 KB
+ * for the full long range) and usually much smaller. Histograms merge by adding counts.
+ *
+ * <p>Not thread-safe; callers synchronize.
+ */
+public class LogLinearHistogram {
+
+    public static final double RELATIVE_ERROR = 1d / 64;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int RANGES = Long.SIZE - SUB_BUCKET_BITS + 1;
+
+    // Range 0 holds values below SUB_BUCKETS exactly; range r > 0 covers [2^(r+6), 2^(r+7)).
+    private final long[][] counts = new long[RANGES][];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must not be negative: " + value);
+        }
+        int range = rangeOf(value);
+        long[] bucket = counts[range];
+        if (bucket == null) {
+            bucket = counts[range] = new long[range == 0 ? SUB_BUCKETS : HALF_SUB_BUCKETS];
+        }
+        bucket[subBucketOf(value, range)]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(LogLinearHistogram other) {
+        for (int range = 0; range < RANGES; range++) {
+            long[] theirs = other.counts[range];
+            if (theirs == null) {
+                continue;
+            }
+            if (counts[range] == null) {
+                counts[range] = new long[theirs.length];
+            }
+            for (int i = 0; i < theirs.length; i++) {
+                counts[range][i] += theirs[i];
+            }
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public long min() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public double mean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /** Smallest recorded value, to within the relative error, that {@code percentile}% of values do not exceed. */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int range = 0; range < RANGES; range++) {
+            long[] bucket = counts[range];
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.length; i++) {
+                seen += bucket[i];
+                if (seen >= rank) {
+                    long lowest = lowestValue(range, i);
+                    return Math.min(max, Math.max(min, lowest + width(range) - 1));
+                }
+            }
+        }
+        return max;
+    }
+
+    /** Counts per power-of-two range, as {@code [from, to)} bins; empty ranges are left out. */
+    public List<Bin> powerOfTwoBins() {
+        List<Bin> bins = new ArrayList<>();
+        for (int range = 0; range < RANGES; range++) {
+            long[] bucket = counts[range];
+            if (bucket == null) {
+                continue;
+            }
+            if (range == 0) {
+                // Split the exact range the same way as the others: [0, 1), [1, 2), [2, 4) ... [64, 128).
+                long from = 0;
+                for (long to = 1; to <= SUB_BUCKETS; to = to == 1 ? 2 : to * 2) {
+                    long count = 0;
+                    for (long value = from; value < to; value++) {
+                        count += bucket[(int) value];
+                    }
+                    if (count > 0) {
+                        bins.add(new Bin(from, to, count));
+                    }
+                    from = to;
+                }
+                continue;
+            }
+            long count = 0;
+            for (long c : bucket) {
+                count += c;
+            }
+            if (count > 0) {
+                long from = lowestValue(range, 0);
+                bins.add(new Bin(from, from * 2, count));
+            }
+        }
+        return bins;
+    }
+
+    private static int rangeOf(long value) {
+        return Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    }
+
+    private static int subBucketOf(long value, int range) {
+        return range == 0 ? (int) value : (int) (value >>> range) - HALF_SUB_BUCKETS;
+    }
+
+    private static long lowestValue(int range, int index) {
+        return range == 0 ? index : (long) (index + HALF_SUB_BUCKETS) << range;
+    }
+
+    private static long width(int range) {
+        return 1L << range;
+    }
+
+    public record Bin(long from, long to, long count) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.inventory.sketch;
+
+import java.util.*;
+
+/**
+ * Weighted Space-Saving summary (Metwally et al.) over positive long keys. At most
+ * {@code capacity} keys are tracked; a new key replaces the one with the smallest count
+ * and inherits that count as its error bound. Any key whose true total exceeds
+ * {@code totalWeight / capacity} is guaranteed to be present.
+ *
+ * <p>Not thread-safe; callers synchronize.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+    private final NavigableSet<Counter> byCount = new TreeSet<>();
+    private long totalWeight;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /** An independent copy of {@code other}, taken in time linear in its size. */
+    public SpaceSaving(SpaceSaving other) {
+        this.capacity = other.capacity;
+        this.counters = new HashMap<>(other.counters);
+        this.byCount.addAll(other.byCount);
+        this.totalWeight = other.totalWeight;
+    }
+
+    public void add(long key, long weight) {
+        totalWeight += weight;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter = new Counter(key, counter.count + weight, counter.error);
+        } else if (counters.size() < capacity) {
+            counter = new Counter(key, weight, 0);
+        } else {
+            Counter smallest = byCount.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + weight, smallest.count);
+        }
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    /**
+     * Adds {@code other} into this summary, keeping it within its capacity. A full summary
+     * may have seen a key it no longer tracks as often as its smallest count, so a key
+     * missing from one side is credited that side's minimum, as count and as error
+     * (Agarwal et al., mergeable summaries); the error bounds stay valid after the merge.
+     */
+    public void merge(SpaceSaving other) {
+        long myMinimum = minimumIfFull();
+        long otherMinimum = other.minimumIfFull();
+        Map<Long, Counter> merged = new HashMap<>(counters.size() + other.counters.size());
+        for (Counter mine : counters.values()) {
+            Counter theirs = other.counters.get(mine.key);
+            merged.put(mine.key, theirs != null
+                    ? new Counter(mine.key, mine.count + theirs.count, mine.error + theirs.error)
+                    : new Counter(mine.key, mine.count + otherMinimum, mine.error + otherMinimum));
+        }
+        for (Counter theirs : other.counters.values()) {
+            if (!counters.containsKey(theirs.key)) {
+                merged.put(theirs.key, new Counter(theirs.key, theirs.count + myMinimum, theirs.error + myMinimum));
+            }
+        }
+        counters.clear();
+        byCount.clear();
+        for (Counter counter : merged.values()) {
+            counters.put(counter.key, counter);
+            byCount.add(counter);
+        }
+        totalWeight += other.totalWeight;
+        while (counters.size() > capacity) {
+            counters.remove(byCount.pollFirst().key);
+        }
+    }
+
+    private long minimumIfFull() {
+        return counters.size() < capacity ? 0 : byCount.first().count;
+    }
+
+    /** The {@code n} heaviest keys, largest estimated count first. */
+    public List<Counter> top(int n) {
+        List<Counter> top = new ArrayList<>(Math.min(n, counters.size()));
+        for (Iterator<Counter> it = byCount.descendingIterator(); it.hasNext() && top.size() < n; ) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public long totalWeight() {
+        return totalWeight;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public void clear() {
+        counters.clear();
+        byCount.clear();
+        totalWeight = 0;
+    }
+
+    /** Estimated count of a key, which overstates the true count by at most {@code error}. */
+    public record Counter(long key, long count, long error) implements Comparable<Counter> {
+        @Override
+        public int compareTo(Counter other) {
+            int byCount = Long.compare(count, other.count);
+            return byCount != 0 ? byCount : Long.compare(key, other.key);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.inventory.stream;
+
+import com.inventory.event.InventoryBatchUpdatedEvent;
+import com.inventory.event.InventoryItemChangedEvent;
+import com.inventory.event.StockLevelChangedEvent;
+import com.inventory.event.TransactionCreatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed stock and order changes out to Server-Sent Event subscribers.
+ *
+ * <p>Each subscriber owns a bounded queue drained by its own virtual thread, so a slow
+ * connection only ever blocks itself. Publishing never waits: when a subscriber's queue
+ * is full it is disconnected, and the browser's EventSource reconnects and reloads.
+ */
+@Slf4j
+@Component
+public class ChangeStreamBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public ChangeStreamBroadcaster(ObjectMapper objectMapper,
+                                   @Value("${inventory.events.buffer-size:256}") int bufferSize,
+                                   @Value("${inventory.events.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        Thread.ofVirtual().name("sse-subscriber-" + subscriberIds.incrementAndGet()).start(subscriber::drain);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        broadcast("stock", new StockChange(event.getItemId(), event.getQuantity()));
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        if (event.isDeleted()) {
+            broadcast("item-deleted", new ItemDeleted(event.getItemId()));
+        } else {
+            broadcast("stock", new StockChange(event.getItemId(), event.getQuantity()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBatchUpdated(InventoryBatchUpdatedEvent event) {
+        broadcast("items-updated", new ItemsUpdated(event.getItemIds()));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        broadcast("transaction", new TransactionSummary(event.getTransactionId(), event.getCustomerId(),
+                event.getItemId(), event.getQuantity(), event.getTotalPrice(), event.getCreatedDate()));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        // Keeps idle connections open through proxies and surfaces dead ones on the next write.
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(heartbeat);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void broadcast(String name, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize {} event", name, ex);
+            return;
+        }
+        // Serialized and framed once; every subscriber is handed the same immutable chunks.
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+                .id(Long.toString(eventIds.incrementAndGet()))
+                .name(name)
+                .data(json)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    public record StockChange(Long itemId, Integer quantity) {
+    }
+
+    public record ItemDeleted(Long itemId) {
+    }
+
+    public record ItemsUpdated(List<Long> itemIds) {
+    }
+
+    public record TransactionSummary(Long id, Long customerId, Long itemId, int quantity,
+                                     BigDecimal totalPrice, LocalDateTime createdDate) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread writer;
+
+        Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!closed.get() && !queue.offer(event)) {
+                log.debug("Dropping SSE subscriber with {} undelivered events", queue.size());
+                close();
+                emitter.complete();
+            }
+        }
+
+        void drain() {
+            writer = Thread.currentThread();
+            try {
+                while (!closed.get()) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the emitter callbacks finish the cleanup.
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                queue.clear();
+                Thread thread = writer;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.controller;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.service.InventoryStockService;
+import com.inventory.service.SlottedStockService;
+import com.inventory.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static com.inventory.support.TestFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A sale from a slotted item leaves the row's version alone, so the item's ETag must
+ * still change with it or a conditional GET keeps answering 304 with the old quantity.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InventoryItemEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private SlottedStockService slottedStock;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void slottedSaleChangesItemEtag() throws Exception {
+        long customerId = customerRepository.save(customer("Etag Buyer")).getId();
+        long itemId = inventoryService.createItem(
+                new CreateInventoryRequest("Etag Slotted Item", 40, "Test", new BigDecimal("1.00"), null)).getId();
+        slottedStock.setSlotCount(itemId, 4);
+
+        String etag = mockMvc.perform(get("/api/inventory/{id}", itemId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/inventory/{id}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        transactionService.createTransaction(new CreateTransactionRequest(customerId, itemId, 3));
+
+        String after = mockMvc.perform(get("/api/inventory/{id}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quantity").value(37))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotEqualTo(etag);
+    }
+}
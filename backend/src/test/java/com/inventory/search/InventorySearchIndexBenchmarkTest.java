@@ -0,0 +1,113 @@
+package com.inventory.search;
+
+import com.inventory.dto.InventoryStockDTO;
+import com.inventory.repository.InventoryStockRepository;
+import com.inventory.service.InventoryStockService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the trigram index finds the right item for exact and misspelt names over a
+ * catalogue large enough for the substring scan it replaced to show, and logs the time
+ * of each for comparison. The timings are reported, not asserted, so a slow or busy
+ * machine cannot fail the build.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class InventorySearchIndexBenchmarkTest {
+
+    private static final int ITEMS = 20_000;
+    private static final int QUERIES = 200;
+    private static final String[] ADJECTIVES = {"Wireless", "Ergonomic", "Compact", "Heavy Duty", "Portable",
+            "Premium", "Smart", "Classic"};
+    private static final String[] NOUNS = {"Mouse", "Keyboard", "Drill", "Lamp", "Speaker", "Charger",
+            "Backpack", "Bottle", "Monitor", "Cable"};
+    private static final String[] CATEGORIES = {"Electronics", "Tools", "Home", "Outdoor", "Office"};
+
+    @Autowired
+    private InventorySearchIndex searchIndex;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private InventoryStockRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> queries = new ArrayList<>(QUERIES);
+
+    @BeforeEach
+    void createCatalogue() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            rows.add(new Object[]{name(i), 10, CATEGORIES[i % CATEGORIES.length], new BigDecimal("9.99"),
+                    "Bench catalogue entry " + i, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_stock (item_name, quantity, category, price, description, updated_date, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0)", rows);
+        // The rows went in behind the index's back; rebuilding re-reads the table.
+        searchIndex.build();
+
+        Random random = new Random(42);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(name(random.nextInt(ITEMS)));
+        }
+    }
+
+    @Test
+    void indexFindsExactAndMisspeltNames() {
+        for (String query : queries.subList(0, 20)) {
+            List<InventoryStockDTO> found = inventoryService.searchItems(query, 10);
+            assertThat(found).isNotEmpty();
+            assertThat(found.get(0).getItemName()).isEqualTo(query);
+
+            List<InventoryStockDTO> misspelt = inventoryService.searchItems(dropLetter(query), 10);
+            assertThat(misspelt).extracting(InventoryStockDTO::getItemName).contains(query);
+        }
+
+        // Warm both paths up before timing them.
+        time(query -> searchIndex.search(query, 20));
+        time(inventoryRepository::findByItemNameContainingIgnoreCase);
+        long indexNanos = time(query -> searchIndex.search(query, 20));
+        long scanNanos = time(inventoryRepository::findByItemNameContainingIgnoreCase);
+
+        log.info("Search over {} items: index {} us/query, substring scan {} us/query ({}x)",
+                ITEMS, indexNanos / QUERIES / 1000, scanNanos / QUERIES / 1000, scanNanos / Math.max(indexNanos, 1));
+    }
+
+    private long time(Function<String, ?> search) {
+        long started = System.nanoTime();
+        for (String query : queries) {
+            search.apply(query);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static String name(int i) {
+        return ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / ADJECTIVES.length) % NOUNS.length]
+                + String.format(" M%05d", i);
+    }
+
+    private static String dropLetter(String name) {
+        return name.substring(0, 2) + name.substring(3);
+    }
+}
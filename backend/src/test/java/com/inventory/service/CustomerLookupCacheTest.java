@@ -0,0 +1,53 @@
+package com.inventory.service;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static com.inventory.support.TestFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Customers are cached for checkout without their PIN hash, and a customer deleted
+ * behind the cache's back is reported as not found rather than as a failed insert.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerLookupCacheTest {
+
+    @Autowired
+    private LookupCache lookupCache;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void checkoutForCustomerDeletedWhileCachedIsNotFound() {
+        long customerId = customerRepository.save(customer("Cached Customer")).getId();
+        long itemId = inventoryService.createItem(
+                new CreateInventoryRequest("Cached Customer Item", 10, "Test", new BigDecimal("1.00"), null)).getId();
+
+        assertThat(lookupCache.findCustomer(customerId)).get()
+                .satisfies(cached -> assertThat(cached.getPin()).isNull());
+        // Deleted straight through the repository, so the cache still holds the customer.
+        customerRepository.deleteById(customerId);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(new CreateTransactionRequest(customerId, itemId, 1)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(inventoryService.getItemById(itemId).getQuantity()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventory.service;
+
+import com.inventory.dto.ImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static com.inventory.support.TestFixtures.race;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same catalogue through several imports at once. Item names are unique, so
+ * every name ends up as one row: one import creates it and the others update it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryImportConcurrencyTest {
+
+    private static final int IMPORTS = 8;
+    private static final int ITEMS = 100;
+    private static final int BATCH_SIZE = 25;
+
+    @Autowired
+    private InventoryImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentImportsCreateEachNameOnce() throws Exception {
+        String prefix = "Import Race " + UUID.randomUUID() + " ";
+        StringBuilder csv = new StringBuilder("itemName,quantity,category,price\n");
+        for (int i = 0; i < ITEMS; i++) {
+            csv.append(prefix).append(i).append(",10,Test,1.50\n");
+        }
+        byte[] catalogue = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<ImportReport> reports = race(IMPORTS, IMPORTS,
+                () -> importService.importItems(new ByteArrayInputStream(catalogue), "csv", BATCH_SIZE));
+
+        assertThat(reports).allSatisfy(report -> assertThat(report.getFailed()).as("failed rows").isZero());
+        assertThat(reports.stream().mapToLong(ImportReport::getCreated).sum()).isEqualTo(ITEMS);
+        assertThat(reports.stream().mapToLong(ImportReport::getUpdated).sum()).isEqualTo((long) ITEMS * (IMPORTS - 1));
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_stock WHERE item_name LIKE ?",
+                Integer.class, prefix + "%");
+        assertThat(rows).isEqualTo(ITEMS);
+    }
+}
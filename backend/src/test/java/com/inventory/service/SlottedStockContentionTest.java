@@ -0,0 +1,122 @@
+package com.inventory.service;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.repository.InventoryStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.inventory.support.TestFixtures.customer;
+import static com.inventory.support.TestFixtures.race;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one hot item with concurrent checkouts, as a single row and split into
+ * increasing numbers of slots, and reports the throughput of each so the trend shows in
+ * the build output. Every level must account for every unit, and a slotted item must not
+ * oversell when orders have to be taken across slots.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class SlottedStockContentionTest {
+
+    private static final int THREADS = 16;
+    private static final int SALES_PER_THREAD = 150;
+    // Zero leaves the item as a single row.
+    private static final int[] SLOT_COUNTS = {0, 2, 4, 8, 16, 32};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private SlottedStockService slottedStock;
+
+    @Autowired
+    private InventoryStockRepository inventoryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Long customerId;
+
+    @BeforeEach
+    void createCustomer() {
+        customerId = customerRepository.save(customer("Contention Buyer")).getId();
+    }
+
+    @Test
+    void slottedItemKeepsEveryUnitUnderContention() throws Exception {
+        int sales = THREADS * SALES_PER_THREAD;
+        int stock = sales * 2;
+
+        // Warm up the checkout path before timing any level.
+        sell(createItem("Contention Warm-up Item", THREADS * 20), THREADS * 20, 1);
+
+        StringBuilder trend = new StringBuilder();
+        for (int slots : SLOT_COUNTS) {
+            long item = createItem("Contention Item " + slots + " Slots", stock);
+            if (slots > 0) {
+                slottedStock.setSlotCount(item, slots);
+            }
+
+            long started = System.nanoTime();
+            int sold = sell(item, sales, 1);
+            long nanos = System.nanoTime() - started;
+
+            assertThat(sold).as("sales with %d slots", slots).isEqualTo(sales);
+            assertThat(quantity(item)).as("stock left with %d slots", slots).isEqualTo(stock - sold);
+            trend.append(String.format("%n  %-8s %6d sales/s", slots == 0 ? "row" : slots + " slots", perSecond(sold, nanos)));
+        }
+        log.info("{} checkouts on {} threads:{}", sales, THREADS, trend);
+    }
+
+    @Test
+    void slottedItemDoesNotOversellAcrossSlots() throws Exception {
+        // Eight slots of five: each slot covers one order of three, the rest must be taken across slots.
+        long item = createItem("Contention Drain Item", 40);
+        slottedStock.setSlotCount(item, 8);
+
+        int sold = sell(item, 100, 3);
+
+        assertThat(sold).isEqualTo(13);
+        assertThat(quantity(item)).isEqualTo(1);
+    }
+
+    private long createItem(String name, int quantity) {
+        return inventoryService.createItem(new CreateInventoryRequest(name, quantity, "Test", new BigDecimal("1.00"), null)).getId();
+    }
+
+    private int quantity(long itemId) {
+        return slottedStock.currentQuantity(inventoryRepository.findById(itemId).orElseThrow());
+    }
+
+    /** Runs {@code orders} checkouts of {@code units} each on {@link #THREADS} threads; returns how many went through. */
+    private int sell(long itemId, int orders, int units) throws Exception {
+        List<Boolean> outcomes = race(THREADS, orders, () -> {
+            try {
+                transactionService.createTransaction(new CreateTransactionRequest(customerId, itemId, units));
+                return true;
+            } catch (BadRequestException ex) {
+                return false;
+            }
+        });
+        return (int) outcomes.stream().filter(sold -> sold).count();
+    }
+
+    private static long perSecond(int sales, long nanos) {
+        return sales * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
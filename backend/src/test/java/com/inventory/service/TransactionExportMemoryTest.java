@@ -0,0 +1,111 @@
+package com.inventory.service;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.InventoryStockDTO;
+import com.inventory.entity.Customer;
+import com.inventory.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.inventory.support.TestFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a large history into a sink that keeps only counts, sampling live heap as
+ * rows go out. Streaming keeps the growth flat; collecting the rows first would hold
+ * every one of them at once.
+ *
+ * <p>The rows and the H2 memory setting would leak into every test sharing the default
+ * context, and H2 cannot report the setting to restore it. So this test gets a database
+ * of its own, which is dropped when its context closes after the class.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:inventory_export_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000")
+@DirtiesContext
+@ActiveProfiles("test")
+class TransactionExportMemoryTest {
+
+    private static final int ROWS = 200_000;
+    private static final long FIRST_ID = 1_000_000_000L;
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2001, 1, 1, 0, 0);
+    private static final int SAMPLE_EVERY = 20_000;
+    private static final long MAX_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportHeapDoesNotGrowWithRowCount() throws Exception {
+        Customer customer = customerRepository.save(customer("Export Customer"));
+        InventoryStockDTO item = inventoryService.createItem(
+                new CreateInventoryRequest("Export Item", 0, "Test", new BigDecimal("2.50"), null));
+        // One sale per second from the start of 2001.
+        jdbcTemplate.update("INSERT INTO transactions (id, customer_id, item_id, quantity, total_price, created_date) " +
+                        "SELECT CAST(? AS BIGINT) + r.\"X\", CAST(? AS BIGINT), CAST(? AS BIGINT), 1, 2.50, " +
+                        "DATEADD(SECOND, r.\"X\", CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(1, CAST(? AS INT)) r",
+                FIRST_ID, customer.getId(), item.getId(), WINDOW_START, ROWS);
+        // Let H2 spill large results to disk, so its own buffering does not count against the export.
+        jdbcTemplate.execute("SET MAX_MEMORY_ROWS 1000");
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = liveHeap(memory);
+        HeapSamplingSink sink = new HeapSamplingSink(memory, baseline);
+
+        exportService.export(TransactionExportService.Format.CSV, WINDOW_START, WINDOW_START.plusYears(1), sink);
+
+        assertThat(sink.lines).isEqualTo(ROWS + 1);
+        assertThat(sink.samples).isEqualTo(ROWS / SAMPLE_EVERY);
+        assertThat(sink.maxGrowth).as("live heap growth during export").isLessThan(MAX_GROWTH_BYTES);
+    }
+
+    private static long liveHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class HeapSamplingSink extends OutputStream {
+        private final MemoryMXBean memory;
+        private final long baseline;
+        private long lines;
+        private int samples;
+        private long maxGrowth;
+
+        HeapSamplingSink(MemoryMXBean memory, long baseline) {
+            this.memory = memory;
+            this.baseline = baseline;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 1 && lines > 1) {
+                samples++;
+                maxGrowth = Math.max(maxGrowth, liveHeap(memory) - baseline);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
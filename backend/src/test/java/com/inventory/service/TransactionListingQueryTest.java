@@ -0,0 +1,99 @@
+package com.inventory.service;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.dto.CursorPage;
+import com.inventory.dto.InventoryStockDTO;
+import com.inventory.dto.TransactionDTO;
+import com.inventory.entity.Customer;
+import com.inventory.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.inventory.support.TestFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transaction listings are read through DTO constructor projections, so each call is
+ * one SELECT however many customers and items the page spans.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionListingQueryTest {
+
+    private static final int CUSTOMERS = 3;
+    private static final int ITEMS = 4;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Customer> customers = new ArrayList<>();
+    private final List<InventoryStockDTO> items = new ArrayList<>();
+    private final List<TransactionDTO> created = new ArrayList<>();
+
+    @BeforeEach
+    void createSales() {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(customerRepository.save(customer("Projection Customer " + i)));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(inventoryService.createItem(
+                    new CreateInventoryRequest("Projection Item " + i, 100, "Test", new BigDecimal("1.25"), null)));
+        }
+        for (Customer customer : customers) {
+            for (InventoryStockDTO item : items) {
+                created.add(transactionService.createTransaction(
+                        new CreateTransactionRequest(customer.getId(), item.getId(), 1)));
+            }
+        }
+    }
+
+    @Test
+    void listingsTakeOneSelect() {
+        Customer customer = customers.get(0);
+        InventoryStockDTO item = items.get(0);
+
+        CursorPage<TransactionDTO> all = statements(1, () -> transactionService.getAllTransactions(null, 50));
+        assertThat(all.getItems()).hasSizeGreaterThanOrEqualTo(CUSTOMERS * ITEMS);
+        assertThat(all.getItems()).allSatisfy(row -> {
+            assertThat(row.getCustomerName()).isNotNull();
+            assertThat(row.getItemName()).isNotNull();
+        });
+
+        CursorPage<TransactionDTO> firstPage = statements(1, () -> transactionService.getTransactionsByCustomer(customer.getId(), null, 2));
+        assertThat(firstPage.getItems()).hasSize(2);
+        CursorPage<TransactionDTO> secondPage = statements(1, () ->
+                transactionService.getTransactionsByCustomer(customer.getId(), firstPage.getNextCursor(), 2));
+        assertThat(secondPage.getItems()).hasSize(2)
+                .allSatisfy(row -> assertThat(row.getCustomerName()).isEqualTo(customer.getName()));
+
+        CursorPage<TransactionDTO> byItem = statements(1, () -> transactionService.getTransactionsByItem(item.getId(), null, 50));
+        assertThat(byItem.getItems()).hasSize(CUSTOMERS)
+                .allSatisfy(row -> assertThat(row.getItemName()).isEqualTo(item.getItemName()));
+
+        TransactionDTO one = statements(1, () -> transactionService.getTransactionById(created.get(0).getId()));
+        assertThat(one.getCustomerName()).isEqualTo(customer.getName());
+        assertThat(one.getItemName()).isEqualTo(item.getItemName());
+    }
+
+    private static <T> T statements(int expected, Supplier<T> call) {
+        StatementCounter.reset();
+        T result = call.get();
+        assertThat(StatementCounter.count()).as("SQL statements").isEqualTo(expected);
+        return result;
+    }
+}
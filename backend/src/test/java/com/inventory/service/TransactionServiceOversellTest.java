@@ -0,0 +1,80 @@
+package com.inventory.service;
+
+import com.inventory.dto.CreateInventoryRequest;
+import com.inventory.dto.CreateTransactionRequest;
+import com.inventory.dto.InventoryStockDTO;
+import com.inventory.entity.Customer;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.repository.InventoryStockRepository;
+import com.inventory.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.inventory.support.TestFixtures.customer;
+import static com.inventory.support.TestFixtures.race;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of checkouts race for one item's stock, at several thread counts. At every
+ * level the guarded decrement must let exactly as many through as there is stock and
+ * turn the rest away; the throughput of each level is logged so the scaling trend shows
+ * in the build output without a wall-clock assertion to flake on.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionServiceOversellTest {
+
+    private static final int STOCK = 1000;
+    private static final int BUYERS = 3000;
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private InventoryStockService inventoryService;
+
+    @Autowired
+    private InventoryStockRepository inventoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void concurrentCheckoutsNeverSellMoreThanTheStock() throws Exception {
+        StringBuilder trend = new StringBuilder();
+        for (int threads : THREADS) {
+            Customer customer = customerRepository.save(customer("Oversell Buyer " + threads));
+            InventoryStockDTO item = inventoryService.createItem(
+                    new CreateInventoryRequest("Oversell Probe " + threads, STOCK, "Test", new BigDecimal("2.50"), null));
+
+            long started = System.nanoTime();
+            List<Boolean> outcomes = race(threads, BUYERS, () -> {
+                try {
+                    transactionService.createTransaction(new CreateTransactionRequest(customer.getId(), item.getId(), 1));
+                    return true;
+                } catch (BadRequestException ex) {
+                    return false;
+                }
+            });
+            long nanos = System.nanoTime() - started;
+
+            assertThat(outcomes).as("sales on %d threads", threads).filteredOn(sold -> sold).hasSize(STOCK);
+            assertThat(inventoryRepository.findById(item.getId()).orElseThrow().getQuantity()).isZero();
+            assertThat(transactionRepository.summarizeByCustomerId(customer.getId()).getOrderCount()).isEqualTo(STOCK);
+            trend.append(String.format("%n  %3d threads: %6d checkouts/s", threads, BUYERS * 1_000_000_000L / Math.max(nanos, 1)));
+        }
+        log.info("{} checkouts for {} units at each level:{}", BUYERS, STOCK, trend);
+    }
+}
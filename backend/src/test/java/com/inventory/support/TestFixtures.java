@@ -0,0 +1,54 @@
+package com.inventory.support;
+
+import com.inventory.entity.Customer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Builders and concurrency scaffolding shared by the integration tests. */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /** An unsaved customer with a unique email, so tests sharing the context never collide. */
+    public static Customer customer(String name) {
+        return Customer.builder()
+                .name(name)
+                .email(UUID.randomUUID() + "@example.com")
+                .pin("1234")
+                .build();
+    }
+
+    /**
+     * Runs {@code task} {@code times} times on {@code threads} threads, all released at
+     * once, and returns the results in submission order.
+     */
+    public static <T> List<T> race(int threads, int times, Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(times);
+        try {
+            for (int i = 0; i < times; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(times);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
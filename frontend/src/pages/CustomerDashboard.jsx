@@ -7,6 +7,7 @@ import { HiOutlineShoppingCart, HiOutlineCube, HiOutlineCurrencyDollar } from 'r
 const CustomerDashboard = () => {
   const { user } = useAuth();
   const [myTransactions, setMyTransactions] = useState([]);
+  const [summary, setSummary] = useState(null);
   const [availableItems, setAvailableItems] = useState([]);
   const [loading, setLoading] = useState(true);
 
@@ -16,12 +17,14 @@ const CustomerDashboard = () => {
 
   const fetchData = async () => {
     try {
-      const [transactionsRes, itemsRes] = await Promise.all([
-        transactionAPI.getByCustomer(user.id),
+      const [transactionsRes, summaryRes, itemsRes] = await Promise.all([
+        transactionAPI.getByCustomer(user.id, { size: 5 }),
+        transactionAPI.getCustomerSummary(user.id),
         inventoryAPI.getAvailable(),
       ]);
 
       setMyTransactions(transactionsRes.data.data);
+      setSummary(summaryRes.data.data);
       setAvailableItems(itemsRes.data.data.slice(0, 6));
     } catch (error) {
       console.error('Error fetching data:', error);
@@ -30,7 +33,7 @@ const CustomerDashboard = () => {
     }
   };
 
-  const totalSpent = myTransactions.reduce((sum, tx) => sum + (tx.totalPrice || 0), 0);
+  const totalSpent = Number(summary?.totalSpent || 0);
 
   if (loading) {
     return (
@@ -50,7 +53,7 @@ const CustomerDashboard = () => {
       <div className="grid grid-cols-1 md:grid-cols-3 gap-4">
         <StatCard
           title="My Orders"
-          value={myTransactions.length}
+          value={summary?.orderCount ?? 0}
           icon={HiOutlineShoppingCart}
           color="blue"
         />
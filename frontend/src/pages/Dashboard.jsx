@@ -24,12 +24,12 @@ const Dashboard = () => {
     try {
       const [statsRes, transactionsRes, lowStockRes] = await Promise.all([
         dashboardAPI.getStats(),
-        transactionAPI.getAll(),
+        transactionAPI.getAll({ size: 5 }),
         inventoryAPI.getLowStock(10),
       ]);
 
       setStats(statsRes.data.data);
-      setRecentTransactions(transactionsRes.data.data.slice(0, 5));
+      setRecentTransactions(transactionsRes.data.data);
       setLowStockItems(lowStockRes.data.data);
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
@@ -1,13 +1,17 @@
 import { useState, useEffect } from 'react';
 import { toast } from 'react-toastify';
-import { inventoryAPI } from '../services/api';
+import { inventoryAPI, subscribeToChanges } from '../services/api';
 import Modal from '../components/Modal';
 import { HiOutlinePlus, HiOutlinePencil, HiOutlineTrash, HiOutlineSearch } from 'react-icons/hi';
 
+const PAGE_SIZE = 50;
+
 const Inventory = () => {
   const [items, setItems] = useState([]);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [editingItem, setEditingItem] = useState(null);
   const [formData, setFormData] = useState({
@@ -19,13 +23,24 @@ const Inventory = () => {
   });
 
   useEffect(() => {
-    fetchItems();
-  }, []);
+    fetchItems(page);
+  }, [page]);
+
+  useEffect(
+    () =>
+      subscribeToChanges({
+        stock: ({ itemId, quantity }) =>
+          setItems((current) => current.map((item) => (item.id === itemId ? { ...item, quantity } : item))),
+        'item-deleted': ({ itemId }) => setItems((current) => current.filter((item) => item.id !== itemId)),
+      }),
+    []
+  );
 
-  const fetchItems = async () => {
+  const fetchItems = async (pageNumber = page) => {
     try {
-      const response = await inventoryAPI.getAll();
+      const response = await inventoryAPI.getAll({ page: pageNumber, size: PAGE_SIZE, sort: 'itemName' });
       setItems(response.data.data);
+      setTotalPages(response.data.totalPages ?? 0);
     // eslint-disable-next-line no-unused-vars
     } catch (error) {
       toast.error('Failed to fetch inventory items');
@@ -42,6 +57,7 @@ const Inventory = () => {
     try {
       const response = await inventoryAPI.search(searchQuery);
       setItems(response.data.data);
+      setTotalPages(0);
     // eslint-disable-next-line no-unused-vars
     } catch (error) {
       toast.error('Search failed');
@@ -58,7 +74,7 @@ const Inventory = () => {
       };
 
       if (editingItem) {
-        await inventoryAPI.update(editingItem.id, data);
+        await inventoryAPI.update(editingItem.id, data, editingItem.version);
         toast.success('Item updated successfully');
       } else {
         await inventoryAPI.create(data);
@@ -69,11 +85,33 @@ const Inventory = () => {
       resetForm();
       fetchItems();
     } catch (error) {
+      if (editingItem && error.response?.status === 412) {
+        // Sales bump the version too; pick up the current one and let the admin review before saving again.
+        try {
+          const response = await inventoryAPI.getById(editingItem.id);
+          setEditingItem(response.data.data);
+          setFormData((current) => ({ ...current, quantity: response.data.data.quantity.toString() }));
+          toast.warning('This item changed since you opened it. Check the quantity and save again.');
+        // eslint-disable-next-line no-unused-vars
+        } catch (reloadError) {
+          toast.error('This item changed since you opened it. Reopen it to edit.');
+        }
+        return;
+      }
       toast.error(error.response?.data?.message || 'Operation failed');
     }
   };
 
-  const handleEdit = (item) => {
+  const handleEdit = async (listed) => {
+    let item = listed;
+    try {
+      // The list can trail sales, which also bump the version; edit from the current row.
+      const response = await inventoryAPI.getById(listed.id);
+      item = response.data.data;
+    } catch (error) {
+      toast.error(error.response?.data?.message || 'Failed to load item');
+      return;
+    }
     setEditingItem(item);
     setFormData({
       itemName: item.itemName,
@@ -216,6 +254,28 @@ const Inventory = () => {
         {items.length === 0 && (
           <p className="text-center text-gray-500 py-8">No inventory items found</p>
         )}
+
+        {totalPages > 1 && (
+          <div className="flex items-center justify-between mt-4">
+            <button
+              onClick={() => setPage(page - 1)}
+              disabled={page === 0}
+              className="btn-secondary disabled:opacity-50"
+            >
+              Previous
+            </button>
+            <span className="text-sm text-gray-500">
+              Page {page + 1} of {totalPages}
+            </span>
+            <button
+              onClick={() => setPage(page + 1)}
+              disabled={page + 1 >= totalPages}
+              className="btn-secondary disabled:opacity-50"
+            >
+              Next
+            </button>
+          </div>
+        )}
       </div>
 
       <Modal
@@ -6,7 +6,10 @@ import { useAuth } from '../context/AuthContext';
 const MyOrders = () => {
   const { user } = useAuth();
   const [orders, setOrders] = useState([]);
+  const [summary, setSummary] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchOrders();
@@ -14,8 +17,13 @@ const MyOrders = () => {
 
   const fetchOrders = async () => {
     try {
-      const response = await transactionAPI.getByCustomer(user.id);
-      setOrders(response.data.data);
+      const [ordersRes, summaryRes] = await Promise.all([
+        transactionAPI.getByCustomer(user.id),
+        transactionAPI.getCustomerSummary(user.id),
+      ]);
+      setOrders(ordersRes.data.data);
+      setNextCursor(ordersRes.data.nextCursor);
+      setSummary(summaryRes.data.data);
     } catch (error) {
       toast.error('Failed to fetch orders');
     } finally {
@@ -23,7 +31,20 @@ const MyOrders = () => {
     }
   };
 
-  const totalSpent = orders.reduce((sum, order) => sum + (order.totalPrice || 0), 0);
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await transactionAPI.getByCustomer(user.id, { cursor: nextCursor });
+      setOrders((prev) => [...prev, ...response.data.data]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      toast.error('Failed to fetch orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const totalSpent = Number(summary?.totalSpent || 0);
 
   if (loading) {
     return (
@@ -85,6 +106,13 @@ const MyOrders = () => {
                 </div>
               </div>
             ))}
+            {nextCursor && (
+              <div className="text-center">
+                <button onClick={loadMore} disabled={loadingMore} className="btn-secondary">
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </div>
@@ -13,6 +13,7 @@ const Shop = () => {
   const [selectedItem, setSelectedItem] = useState(null);
   const [quantity, setQuantity] = useState(1);
   const [isModalOpen, setIsModalOpen] = useState(false);
+  const [purchaseKey, setPurchaseKey] = useState(null);
 
   useEffect(() => {
     fetchItems();
@@ -48,7 +49,7 @@ const Shop = () => {
         customerId: user.id,
         itemId: selectedItem.id,
         quantity: quantity,
-      });
+      }, purchaseKey);
 
       toast.success('Purchase successful!');
       setIsModalOpen(false);
@@ -63,7 +64,12 @@ const Shop = () => {
   const openPurchaseModal = (item) => {
     setSelectedItem(item);
     setQuantity(1);
+    setPurchaseKey(crypto.randomUUID());
     setIsModalOpen(true);
+    // The grid is loaded from the summary listing, so the description is fetched on demand.
+    inventoryAPI.getById(item.id)
+      .then((response) => setSelectedItem((current) => (current?.id === item.id ? response.data.data : current)))
+      .catch(() => {});
   };
 
   if (loading) {
@@ -105,10 +111,7 @@ const Shop = () => {
               <span className="text-4xl">📦</span>
             </div>
             <h3 className="font-semibold text-gray-900 truncate">{item.itemName}</h3>
-            <p className="text-sm text-gray-500 mb-2">{item.category || 'Uncategorized'}</p>
-            <p className="text-xs text-gray-400 mb-3 line-clamp-2">
-              {item.description || 'No description available'}
-            </p>
+            <p className="text-sm text-gray-500 mb-3">{item.category || 'Uncategorized'}</p>
             <div className="flex items-center justify-between">
               <div>
                 <p className="text-xl font-bold text-blue-600">${item.price?.toLocaleString()}</p>
@@ -140,6 +143,9 @@ const Shop = () => {
             <div className="p-4 bg-gray-50 rounded-lg">
               <h4 className="font-semibold text-gray-900">{selectedItem.itemName}</h4>
               <p className="text-sm text-gray-500">{selectedItem.category}</p>
+              {selectedItem.description && (
+                <p className="text-xs text-gray-400 mt-1">{selectedItem.description}</p>
+              )}
               <p className="text-lg font-bold text-blue-600 mt-2">
                 ${selectedItem.price?.toLocaleString()} each
               </p>
@@ -6,6 +6,8 @@ import { HiOutlinePlus } from 'react-icons/hi';
 
 const Transactions = () => {
   const [transactions, setTransactions] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [customers, setCustomers] = useState([]);
   const [items, setItems] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -29,6 +31,7 @@ const Transactions = () => {
       ]);
 
       setTransactions(transactionsRes.data.data);
+      setNextCursor(transactionsRes.data.nextCursor);
       setCustomers(customersRes.data.data);
       setItems(itemsRes.data.data);
     } catch (error) {
@@ -38,6 +41,19 @@ const Transactions = () => {
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await transactionAPI.getAll({ cursor: nextCursor });
+      setTransactions((prev) => [...prev, ...response.data.data]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      toast.error('Failed to fetch transactions');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     try {
@@ -122,6 +138,14 @@ const Transactions = () => {
         {transactions.length === 0 && (
           <p className="text-center text-gray-500 py-8">No transactions found</p>
         )}
+
+        {nextCursor && (
+          <div className="text-center pt-4">
+            <button onClick={loadMore} disabled={loadingMore} className="btn-secondary">
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
 
       <Modal
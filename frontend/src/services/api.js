@@ -57,24 +57,31 @@ export const customerAPI = {
 };
 
 export const inventoryAPI = {
-  getAll: () => api.get('/inventory'),
+  getAll: (params) => api.get('/inventory', { params }),
   getById: (id) => api.get(`/inventory/${id}`),
   create: (data) => api.post('/inventory', data),
-  update: (id, data) => api.put(`/inventory/${id}`, data),
+  update: (id, data, version) =>
+    api.put(`/inventory/${id}`, data, version != null ? { headers: { 'If-Match': `"${version}"` } } : undefined),
   delete: (id) => api.delete(`/inventory/${id}`),
+  bulkUpdate: (updates) => api.patch('/inventory/bulk', { updates }),
   search: (query) => api.get(`/inventory/search?query=${query}`),
   getByCategory: (category) => api.get(`/inventory/category/${category}`),
   getCategories: () => api.get('/inventory/categories'),
   getLowStock: (threshold = 10) => api.get(`/inventory/low-stock?threshold=${threshold}`),
+  getForecast: (horizonDays = 30) => api.get(`/inventory/forecast?horizonDays=${horizonDays}`),
+  getReorderList: (horizonDays = 14) => api.get(`/inventory/forecast/reorder?horizonDays=${horizonDays}`),
   getAvailable: () => api.get('/inventory/available'),
 };
 
 export const transactionAPI = {
-  getAll: () => api.get('/transactions'),
+  getAll: (params) => api.get('/transactions', { params }),
   getById: (id) => api.get(`/transactions/${id}`),
-  create: (data) => api.post('/transactions', data),
-  getByCustomer: (customerId) => api.get(`/transactions/customer/${customerId}`),
-  getByItem: (itemId) => api.get(`/transactions/item/${itemId}`),
+  create: (data, idempotencyKey) =>
+    api.post('/transactions', data, idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined),
+  createBatch: (data) => api.post('/transactions/batch', data),
+  getByCustomer: (customerId, params) => api.get(`/transactions/customer/${customerId}`, { params }),
+  getCustomerSummary: (customerId) => api.get(`/transactions/customer/${customerId}/summary`),
+  getByItem: (itemId, params) => api.get(`/transactions/item/${itemId}`, { params }),
   getRevenue: () => api.get('/transactions/revenue'),
 };
 
@@ -82,4 +89,20 @@ export const dashboardAPI = {
   getStats: () => api.get('/dashboard/stats'),
 };
 
+export const reportAPI = {
+  getSales: (params) => api.get('/reports/sales', { params }),
+  getTopItems: (n = 10, window = 'all') => api.get('/reports/top-items', { params: { n, window } }),
+  getDistinctCustomers: (params) => api.get('/reports/distinct-customers', { params }),
+  getOrderDistribution: (params) => api.get('/reports/order-distribution', { params }),
+};
+
+// Live stock and order changes; returns a function that closes the stream.
+export const subscribeToChanges = (handlers) => {
+  const source = new EventSource(`${API_BASE_URL}/events`);
+  Object.entries(handlers).forEach(([name, handler]) => {
+    source.addEventListener(name, (event) => handler(JSON.parse(event.data)));
+  });
+  return () => source.close();
+};
+
 export default api;